@@ -0,0 +1,66 @@
+package com.openclassrooms.starterjwt.benchmark;
+
+import com.openclassrooms.starterjwt.dto.TeacherDto;
+import com.openclassrooms.starterjwt.dto.UserDto;
+import com.openclassrooms.starterjwt.mapper.TeacherMapper;
+import com.openclassrooms.starterjwt.mapper.TeacherMapperImpl;
+import com.openclassrooms.starterjwt.mapper.UserMapper;
+import com.openclassrooms.starterjwt.mapper.UserMapperImpl;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.models.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût des mappers MapStruct utilisateur et professeur, dans les deux sens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class EntityMapperBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private UserMapper userMapper;
+    private TeacherMapper teacherMapper;
+    private List<User> users;
+    private List<UserDto> userDtos;
+    private List<Teacher> teachers;
+    private List<TeacherDto> teacherDtos;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapperImpl();
+        teacherMapper = new TeacherMapperImpl();
+        users = PayloadFixtures.users(size);
+        userDtos = userMapper.toDto(users);
+        teachers = PayloadFixtures.teachers(size);
+        teacherDtos = teacherMapper.toDto(teachers);
+    }
+
+    @Benchmark
+    public List<UserDto> userToDto() {
+        return userMapper.toDto(users);
+    }
+
+    @Benchmark
+    public List<User> userToEntity() {
+        return userMapper.toEntity(userDtos);
+    }
+
+    @Benchmark
+    public List<TeacherDto> teacherToDto() {
+        return teacherMapper.toDto(teachers);
+    }
+
+    @Benchmark
+    public List<Teacher> teacherToEntity() {
+        return teacherMapper.toEntity(teacherDtos);
+    }
+}
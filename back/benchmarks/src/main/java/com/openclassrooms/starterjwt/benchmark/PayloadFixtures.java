@@ -0,0 +1,71 @@
+package com.openclassrooms.starterjwt.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.models.User;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Jeux de données en mémoire pour les benchmarks de mapping et de sérialisation.
+ */
+final class PayloadFixtures {
+
+    static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private PayloadFixtures() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static List<Teacher> teachers(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Teacher> teachers = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            teachers.add(new Teacher(id, "Teacher" + id, "Yoga", now, now));
+        }
+        return teachers;
+    }
+
+    static List<User> users(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            users.add(new User(id, "user" + id + "@studio.com", "Last" + id, "First" + id, "password", false, now, now));
+        }
+        return users;
+    }
+
+    static List<Session> sessions(int count, int participants) {
+        Teacher teacher = teachers(1).get(0);
+        List<User> users = users(participants);
+        LocalDateTime now = LocalDateTime.now();
+        Date date = new Date();
+
+        List<Session> sessions = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            sessions.add(new Session(id, "Session " + id, date, "Description of session " + id, teacher,
+                    new ArrayList<>(users), participants, now, now));
+        }
+        return sessions;
+    }
+}
@@ -0,0 +1,71 @@
+package com.openclassrooms.starterjwt.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.starterjwt.dto.SessionDto;
+import com.openclassrooms.starterjwt.mapper.SessionMapper;
+import com.openclassrooms.starterjwt.mapper.SessionMapperImpl;
+import com.openclassrooms.starterjwt.models.Session;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût des endpoints de liste de séances : mapping entité -> DTO (avec et sans les IDs des participants)
+ * puis sérialisation Jackson de la liste, en débit (opérations/ms) et en temps moyen,
+ * pour 10 à 10k séances de 0 à 500 participants.
+ *
+ * La plus grande liste (5 millions d'IDs de participants) tient dans le tas sans que le GC
+ * domine la mesure ; d'autres tailles se passent en ligne de commande :
+ * java -jar target/benchmarks.jar SessionPayloadBenchmark -p sessions=100000 -p participants=50
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SessionPayloadBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int sessions;
+
+    @Param({"0", "50", "500"})
+    private int participants;
+
+    private SessionMapper sessionMapper;
+    private ObjectMapper objectMapper;
+    private List<Session> entities;
+    private List<SessionDto> dtos;
+    private List<SessionDto> summaries;
+
+    @Setup
+    public void setUp() {
+        sessionMapper = new SessionMapperImpl();
+        objectMapper = PayloadFixtures.objectMapper();
+        entities = PayloadFixtures.sessions(sessions, participants);
+        dtos = sessionMapper.toDto(entities);
+        summaries = sessionMapper.toSummaryDto(entities);
+    }
+
+    @Benchmark
+    public List<SessionDto> toDto() {
+        return sessionMapper.toDto(entities);
+    }
+
+    @Benchmark
+    public List<SessionDto> toSummaryDto() {
+        return sessionMapper.toSummaryDto(entities);
+    }
+
+    @Benchmark
+    public void serializeDtos() throws IOException {
+        objectMapper.writeValue(PayloadFixtures.DISCARD, dtos);
+    }
+
+    @Benchmark
+    public void serializeSummaries() throws IOException {
+        objectMapper.writeValue(PayloadFixtures.DISCARD, summaries);
+    }
+}
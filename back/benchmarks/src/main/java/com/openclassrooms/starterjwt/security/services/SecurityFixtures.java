@@ -0,0 +1,65 @@
+package com.openclassrooms.starterjwt.security.services;
+
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.repository.UserRepository;
+import com.openclassrooms.starterjwt.security.jwt.JwtUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Optional;
+
+/**
+ * Objets de sécurité câblés à la main, sans contexte Spring ni Mockito,
+ * pour que les benchmarks ne mesurent que le code de l'application.
+ */
+public final class SecurityFixtures {
+
+    public static final String JWT_SECRET = "openclassrooms";
+    public static final int JWT_EXPIRATION_MS = 86400000;
+
+    private SecurityFixtures() {
+    }
+
+    public static User user() {
+        return new User(1L, "yoga@studio.com", "Studio", "Admin", "$2a$10$.Hsa/ZjUVaHqi0tp9xieMeewrnZxrZ5pQRzddUXE/WjDu2ZThe6Iq", true,
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    public static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", JWT_EXPIRATION_MS);
+        return jwtUtils;
+    }
+
+    public static Authentication authentication(User user) {
+        UserDetailsImpl principal = UserDetailsImpl.builder()
+                .id(user.getId())
+                .username(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .password(user.getPassword())
+                .admin(user.isAdmin())
+                .build();
+
+        return new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList());
+    }
+
+    public static UserDetailsServiceImpl userDetailsService(User user) {
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByEmail")) {
+                        return user.getEmail().equals(args[0]) ? Optional.of(user) : Optional.empty();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        return new UserDetailsServiceImpl(userRepository);
+    }
+}
@@ -0,0 +1,83 @@
+package com.openclassrooms.starterjwt.catalog;
+
+import com.openclassrooms.starterjwt.dto.SessionDto;
+import com.openclassrooms.starterjwt.dto.TeacherDto;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Sessions and teachers read with R2DBC from the schema owned by the main application.
+ *
+ * Sessions are mapped like SessionMapper.toSummaryDto: teacher id and participant
+ * count, without the participant ids.
+ */
+@Repository
+public class CatalogRepository {
+    private static final String SESSIONS = "select s.id, s.name, s.date, s.description, s.teacher_id, s.created_at, s.updated_at, "
+            + "(select coalesce(sum(c.participants), 0) from ATTENDANCE_COUNTERS c where c.scope = 'SESSION' and c.scope_key = s.id) as participant_count "
+            + "from SESSIONS s";
+    private static final String TEACHERS = "select t.id, t.last_name, t.first_name, t.created_at, t.updated_at from TEACHERS t";
+
+    private final DatabaseClient databaseClient;
+
+    public CatalogRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<SessionDto> findSessions() {
+        return this.databaseClient.sql(SESSIONS)
+                .map((row, metadata) -> session(row))
+                .all();
+    }
+
+    public Mono<SessionDto> findSession(long id) {
+        return this.databaseClient.sql(SESSIONS + " where s.id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> session(row))
+                .one();
+    }
+
+    public Flux<TeacherDto> findTeachers() {
+        return this.databaseClient.sql(TEACHERS)
+                .map((row, metadata) -> teacher(row))
+                .all();
+    }
+
+    private static SessionDto session(Row row) {
+        SessionDto session = new SessionDto();
+        session.setId(longValue(row, "id"));
+        session.setName(row.get("name", String.class));
+        session.setDate(date(row.get("date", LocalDateTime.class)));
+        session.setDescription(row.get("description", String.class));
+        session.setTeacher_id(longValue(row, "teacher_id"));
+        session.setParticipantCount(longValue(row, "participant_count"));
+        session.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        session.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return session;
+    }
+
+    private static TeacherDto teacher(Row row) {
+        return new TeacherDto(
+                longValue(row, "id"),
+                row.get("last_name", String.class),
+                row.get("first_name", String.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class));
+    }
+
+    private static Long longValue(Row row, String column) {
+        Number value = (Number) row.get(column);
+        return value == null ? null : value.longValue();
+    }
+
+    private static Date date(LocalDateTime value) {
+        return value == null ? null : Date.from(value.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,37 @@
+package com.openclassrooms.starterjwt.catalog;
+
+import com.openclassrooms.starterjwt.dto.SessionDto;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/session")
+public class SessionCatalogController {
+    private final CatalogRepository catalogRepository;
+
+    public SessionCatalogController(CatalogRepository catalogRepository) {
+        this.catalogRepository = catalogRepository;
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<SessionDto>> findById(@PathVariable("id") String id) {
+        long sessionId;
+        try {
+            sessionId = Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return this.catalogRepository.findSession(sessionId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping()
+    public Flux<SessionDto> findAll() {
+        return this.catalogRepository.findSessions();
+    }
+}
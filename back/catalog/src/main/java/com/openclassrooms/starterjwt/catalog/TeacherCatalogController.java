@@ -0,0 +1,24 @@
+package com.openclassrooms.starterjwt.catalog;
+
+import com.openclassrooms.starterjwt.dto.TeacherDto;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/teacher")
+public class TeacherCatalogController {
+    private final CatalogRepository catalogRepository;
+
+    public TeacherCatalogController(CatalogRepository catalogRepository) {
+        this.catalogRepository = catalogRepository;
+    }
+
+    @GetMapping()
+    public Flux<TeacherDto> findAll() {
+        return this.catalogRepository.findTeachers();
+    }
+}
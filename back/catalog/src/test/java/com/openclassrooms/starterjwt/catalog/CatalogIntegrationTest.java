@@ -0,0 +1,162 @@
+package com.openclassrooms.starterjwt.catalog;
+
+import com.openclassrooms.starterjwt.jfr.JwtVerificationEvent;
+import com.openclassrooms.starterjwt.security.jwt.JwtUtils;
+import com.openclassrooms.starterjwt.security.services.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration du catalogue réactif
+ *
+ * Le schéma est celui des migrations Flyway de l'application, sur une base H2 en mémoire.
+ * Ces tests valident que :
+ * - Les endpoints exigent un JWT émis par l'application (JwtUtils)
+ * - Les sessions sont renvoyées au format résumé (professeur et nombre de participants, sans identifiants)
+ * - Les identifiants invalides ou inconnus donnent 400 et 404
+ * - La vérification du JWT s'enregistre dans JFR sans pile servlet
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+@DisplayName("Catalogue réactif - Tests d'intégration")
+class CatalogIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        // Nettoyage de la base avant chaque test
+        tearDown();
+
+        execute("insert into TEACHERS (id, last_name, first_name) values (1, 'Dubois', 'Marie')");
+        execute("insert into SESSIONS (id, name, description, date, teacher_id) values (1, 'Yoga Matinal', 'Session de yoga du matin', '2026-01-15 08:00:00', 1)");
+        execute("insert into SESSIONS (id, name, description, date, teacher_id) values (2, 'Yoga du Soir', 'Session de yoga du soir', '2026-01-15 19:00:00', 1)");
+        execute("insert into ATTENDANCE_COUNTERS (scope, scope_key, shard, participants) values ('SESSION', 1, 0, 2), ('SESSION', 1, 3, 1)");
+
+        token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(
+                UserDetailsImpl.builder().id(1L).username("yoga@studio.com").build(), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        execute("delete from ATTENDANCE_COUNTERS");
+        execute("delete from SESSIONS");
+        execute("delete from TEACHERS");
+    }
+
+    @Test
+    @DisplayName("GET /api/session - Devrait renvoyer 401 sans JWT valide")
+    void findAll_WithoutToken_ReturnsUnauthorized() {
+        // When & Then
+        webTestClient.get().uri("/api/session").exchange().expectStatus().isUnauthorized();
+        webTestClient.get().uri("/api/session").header("Authorization", "Bearer invalid")
+                .exchange().expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("GET /api/session - Devrait renvoyer les sessions au format résumé")
+    void findAll_ReturnsSessionSummaries() {
+        // When & Then
+        webTestClient.get().uri("/api/session").header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[?(@.id == 1)].name").isEqualTo("Yoga Matinal")
+                .jsonPath("$[?(@.id == 1)].teacher_id").isEqualTo(1)
+                .jsonPath("$[?(@.id == 1)].participantCount").isEqualTo(3)
+                .jsonPath("$[?(@.id == 2)].participantCount").isEqualTo(0)
+                .jsonPath("$[0].users").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("GET /api/session/{id} - Devrait renvoyer la session, 404 si inconnue, 400 si invalide")
+    void findById_ReturnsSession() {
+        // When & Then
+        webTestClient.get().uri("/api/session/{id}", 1).header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Yoga Matinal")
+                .jsonPath("$.description").isEqualTo("Session de yoga du matin");
+        webTestClient.get().uri("/api/session/{id}", 999).header("Authorization", "Bearer " + token)
+                .exchange().expectStatus().isNotFound();
+        webTestClient.get().uri("/api/session/{id}", "abc").header("Authorization", "Bearer " + token)
+                .exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("GET /api/teacher - Devrait renvoyer les professeurs")
+    void findTeachers_ReturnsTeachers() {
+        // When & Then
+        webTestClient.get().uri("/api/teacher").header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].lastName").isEqualTo("Dubois")
+                .jsonPath("$[0].firstName").isEqualTo("Marie");
+    }
+
+    @Test
+    @DisplayName("GET /api/session - Devrait enregistrer la vérification du JWT sous JFR, sans classes servlet")
+    void findAll_UnderFlightRecording_RecordsJwtVerification() throws Exception {
+        // Given
+        Path dump = Files.createTempFile("catalog", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(JwtVerificationEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+
+            // When
+            webTestClient.get().uri("/api/session").header("Authorization", "Bearer " + token)
+                    .exchange()
+                    .expectStatus().isOk();
+            recording.stop();
+            recording.dump(dump);
+
+            // Then - Hors requête servlet, aucun identifiant de requête
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            assertThat(events).filteredOn(event -> event.getEventType().getName().equals(JwtVerificationEvent.NAME))
+                    .anySatisfy(event -> {
+                        assertThat(event.getBoolean("valid")).isTrue();
+                        assertThat(event.getString("subject")).isEqualTo("yoga@studio.com");
+                        assertThat(event.getString("requestId")).isNull();
+                    });
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+}
@@ -2,12 +2,26 @@ package com.openclassrooms.starterjwt;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class SpringBootSecurityJwtApplication {
+	private static final int STARTUP_STEPS = 4096;
+
 	public static void main(String[] args) {
-    SpringApplication.run(SpringBootSecurityJwtApplication.class, args);
+    application().run(args);
+	}
+
+	/**
+	 * The application with its startup steps buffered for GET /actuator/startup.
+	 */
+	public static SpringApplication application() {
+		SpringApplication application = new SpringApplication(SpringBootSecurityJwtApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		return application;
 	}
 }
@@ -0,0 +1,83 @@
+package com.openclassrooms.starterjwt.cache;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache regions, backed by Ehcache through JCache.
+ *
+ * Every region is declared here with its size: Hibernate is configured to fail
+ * on a region it does not know instead of creating an unbounded one.
+ *
+ * Only rarely written data is cached (teachers, users). Session participants change
+ * on every enrollment and are always read from the database.
+ *
+ * The regions are local to each instance and only invalidated by that instance's own
+ * writes: in a multi-instance deployment another instance can serve an entry that is
+ * stale for up to the time to live. Such a deployment needs a clustered or invalidating
+ * JCache provider (or a short time to live) in place of the local Ehcache. Entries
+ * loaded by a read-only transaction may also come from the read replica.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    public static final String TEACHERS = "teachers";
+    public static final String USERS = "users";
+    public static final String USERS_BY_EMAIL = "users-by-email";
+    public static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    @Value("${oc.app.cache.teachers.size:1000}")
+    private long teachersSize;
+
+    @Value("${oc.app.cache.users.size:10000}")
+    private long usersSize;
+
+    @Value("${oc.app.cache.usersByEmail.size:10000}")
+    private long usersByEmailSize;
+
+    @Value("${oc.app.cache.timeToLiveSeconds:3600}")
+    private long timeToLiveSeconds;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(TEACHERS, this.region(this.teachersSize))
+                .withCache(USERS, this.region(this.usersSize))
+                .withCache(USERS_BY_EMAIL, this.region(this.usersByEmailSize))
+                .withCache(DEFAULT_QUERY_RESULTS, this.region(100))
+                .withCache(UPDATE_TIMESTAMPS, CacheConfigurationBuilder
+                        .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(100))
+                        .build())
+                .build();
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:yoga-app:hibernate:" + UUID.randomUUID()), configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private CacheConfiguration<Object, Object> region(long size) {
+        return CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(size))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(this.timeToLiveSeconds)))
+                .build();
+    }
+}
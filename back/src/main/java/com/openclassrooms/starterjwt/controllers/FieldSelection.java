@@ -0,0 +1,54 @@
+package com.openclassrooms.starterjwt.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.openclassrooms.starterjwt.exception.BadRequestException;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+final class FieldSelection {
+    private FieldSelection() {
+    }
+
+    static Set<String> parse(String fields, Class<?> dtoType, Set<String> projectable, ObjectMapper objectMapper) {
+        Set<String> allowed = objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(dtoType))
+                .findProperties()
+                .stream()
+                .map(BeanPropertyDefinition::getName)
+                .filter(projectable::contains)
+                .collect(Collectors.toSet());
+
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new BadRequestException();
+            }
+            selected.add(name);
+        }
+
+        if (selected.isEmpty()) {
+            throw new BadRequestException();
+        }
+        return selected;
+    }
+
+    static JsonNode retain(Object body, Set<String> fields, ObjectMapper objectMapper) {
+        JsonNode node = objectMapper.valueToTree(body);
+        if (node.isArray()) {
+            node.forEach(element -> ((ObjectNode) element).retain(fields));
+        } else if (node.isObject()) {
+            ((ObjectNode) node).retain(fields);
+        }
+
+        return node;
+    }
+}
@@ -1,42 +1,101 @@
 package com.openclassrooms.starterjwt.controllers;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.openclassrooms.starterjwt.dto.ParticipantPageDto;
 import com.openclassrooms.starterjwt.dto.SessionDto;
+import com.openclassrooms.starterjwt.exception.UnknownIdsException;
 import com.openclassrooms.starterjwt.mapper.SessionMapper;
+import com.openclassrooms.starterjwt.mapper.UserMapper;
 import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.payload.response.MessageResponse;
+import com.openclassrooms.starterjwt.repository.SessionRepositoryCustom;
 import com.openclassrooms.starterjwt.services.SessionService;
-import lombok.extern.log4j.Log4j2;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/session")
-@Log4j2
 public class SessionController {
+    private static final Logger logger = LoggerFactory.getLogger(SessionController.class);
+    private static final int MAX_PARTICIPANT_PAGE_SIZE = 200;
+    private static final Set<String> SELECTABLE_FIELDS = selectableFields();
+
     private final SessionMapper sessionMapper;
     private final SessionService sessionService;
+    private final ObjectMapper objectMapper;
+    private final UserMapper userMapper;
 
 
     public SessionController(SessionService sessionService,
-                             SessionMapper sessionMapper) {
+                             SessionMapper sessionMapper,
+                             ObjectMapper objectMapper,
+                             UserMapper userMapper) {
         this.sessionMapper = sessionMapper;
         this.sessionService = sessionService;
+        this.objectMapper = objectMapper;
+        this.userMapper = userMapper;
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> findById(@PathVariable("id") String id) {
+        return this.findById(id, this.sessionService::getById, this.sessionMapper::toSummaryDto);
+    }
+
+    @GetMapping(value = "/{id}", params = "embed=users")
+    public ResponseEntity<?> findByIdWithUsers(@PathVariable("id") String id) {
+        return this.findById(id, this.sessionService::getByIdWithUsers, this.sessionMapper::toDto);
+    }
+
+    private ResponseEntity<?> findById(String id, Function<Long, Session> lookup, Function<Session, SessionDto> mapping) {
         try {
-            Session session = this.sessionService.getById(Long.valueOf(id));
+            Session session = lookup.apply(Long.valueOf(id));
 
             if (session == null) {
                 return ResponseEntity.notFound().build();
             }
 
-            return ResponseEntity.ok().body(this.sessionMapper.toDto(session));
+            return ResponseEntity.ok().body(mapping.apply(session));
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}/participants")
+    public ResponseEntity<?> findParticipants(@PathVariable("id") String id,
+                                              @RequestParam(value = "cursor", required = false) String cursor,
+                                              @RequestParam(value = "size", defaultValue = "50") String size) {
+        try {
+            int limit = Math.min(Math.max(Integer.parseInt(size), 1), MAX_PARTICIPANT_PAGE_SIZE);
+            List<User> participants = this.sessionService.getParticipants(Long.valueOf(id),
+                    cursor == null ? null : Long.valueOf(cursor), limit + 1);
+
+            Long nextCursor = null;
+            if (participants.size() > limit) {
+                participants = participants.subList(0, limit);
+                nextCursor = participants.get(limit - 1).getId();
+            }
+
+            return ResponseEntity.ok().body(new ParticipantPageDto(this.userMapper.toDto(participants), nextCursor));
         } catch (NumberFormatException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -46,17 +105,65 @@ public class SessionController {
     public ResponseEntity<?> findAll() {
         List<Session> sessions = this.sessionService.findAll();
 
+        return ResponseEntity.ok().body(this.sessionMapper.toSummaryDto(sessions));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        ObjectWriter writer = this.objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                this.sessionService.exportAll(session -> {
+                    try {
+                        writer.writeValue(generator, session);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping(params = {"embed=users", "!fields"})
+    public ResponseEntity<?> findAllWithUsers() {
+        List<Session> sessions = this.sessionService.findAllWithUsers();
+
         return ResponseEntity.ok().body(this.sessionMapper.toDto(sessions));
     }
 
+    @GetMapping(params = "fields")
+    public ResponseEntity<?> findAll(@RequestParam("fields") String fields) {
+        Set<String> selected = FieldSelection.parse(fields, SessionDto.class, SELECTABLE_FIELDS, this.objectMapper);
+
+        if (selected.contains("users")) {
+            List<Session> sessions = this.sessionService.findAllWithUsers();
+
+            return ResponseEntity.ok().body(FieldSelection.retain(this.sessionMapper.toDto(sessions), selected, this.objectMapper));
+        }
+
+        return ResponseEntity.ok().body(this.sessionService.findAllProjected(selected));
+    }
+
     @PostMapping()
     public ResponseEntity<?> create(@Valid @RequestBody SessionDto sessionDto) {
-        log.info(sessionDto);
-
-        Session session = this.sessionService.create(this.sessionMapper.toEntity(sessionDto));
+        try {
+            Session session = this.sessionService.create(this.sessionMapper.toEntity(sessionDto));
 
-        log.info(session);
-        return ResponseEntity.ok().body(this.sessionMapper.toDto(session));
+            if (logger.isInfoEnabled()) {
+                logger.info("Session created {} {} {}",
+                        kv("sessionId", session.getId()),
+                        kv("teacherId", sessionDto.getTeacher_id()),
+                        kv("participants", session.getUsers() == null ? 0 : session.getUsers().size()));
+            }
+            return ResponseEntity.ok().body(this.sessionMapper.toDto(session));
+        } catch (UnknownIdsException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
     }
 
     @PutMapping("{id}")
@@ -67,6 +174,8 @@ public class SessionController {
             return ResponseEntity.ok().body(this.sessionMapper.toDto(session));
         } catch (NumberFormatException e) {
             return ResponseEntity.badRequest().build();
+        } catch (UnknownIdsException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
         }
     }
 
@@ -86,6 +195,15 @@ public class SessionController {
         }
     }
 
+    @GetMapping("{id}/participate/{userId}")
+    public ResponseEntity<?> isParticipating(@PathVariable("id") String id, @PathVariable("userId") String userId) {
+        try {
+            return ResponseEntity.ok().body(this.sessionService.isParticipating(Long.parseLong(id), Long.parseLong(userId)));
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping("{id}/participate/{userId}")
     public ResponseEntity<?> participate(@PathVariable("id") String id, @PathVariable("userId") String userId) {
         try {
@@ -107,4 +225,10 @@ public class SessionController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    private static Set<String> selectableFields() {
+        Set<String> fields = new LinkedHashSet<>(SessionRepositoryCustom.PROJECTABLE_FIELDS);
+        fields.add("users");
+        return fields;
+    }
 }
@@ -0,0 +1,22 @@
+package com.openclassrooms.starterjwt.controllers;
+
+import com.openclassrooms.starterjwt.services.AttendanceStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+    private final AttendanceStatsService attendanceStatsService;
+
+
+    public StatsController(AttendanceStatsService attendanceStatsService) {
+        this.attendanceStatsService = attendanceStatsService;
+    }
+
+    @GetMapping("/attendance")
+    public ResponseEntity<?> attendance() {
+        return ResponseEntity.ok().body(this.attendanceStatsService.getStats());
+    }
+}
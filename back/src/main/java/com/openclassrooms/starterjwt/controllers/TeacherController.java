@@ -1,45 +1,120 @@
 package com.openclassrooms.starterjwt.controllers;
 
-import com.openclassrooms.starterjwt.mapper.TeacherMapper;
-import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.dto.SessionPageDto;
+import com.openclassrooms.starterjwt.mapper.SessionMapper;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.services.SessionService;
+import com.openclassrooms.starterjwt.services.TeacherCatalog;
 import com.openclassrooms.starterjwt.services.TeacherService;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/teacher")
 public class TeacherController {
-    private final TeacherMapper teacherMapper;
+    private static final int MAX_SCHEDULE_PAGE_SIZE = 100;
+
+    private final TeacherCatalog teacherCatalog;
     private final TeacherService teacherService;
+    private final SessionService sessionService;
+    private final SessionMapper sessionMapper;
 
 
-    public TeacherController(TeacherService teacherService,
-                             TeacherMapper teacherMapper) {
-        this.teacherMapper = teacherMapper;
+    public TeacherController(TeacherCatalog teacherCatalog,
+                             TeacherService teacherService,
+                             SessionService sessionService,
+                             SessionMapper sessionMapper) {
+        this.teacherCatalog = teacherCatalog;
         this.teacherService = teacherService;
+        this.sessionService = sessionService;
+        this.sessionMapper = sessionMapper;
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> findById(@PathVariable("id") String id) {
         try {
-            Teacher teacher = this.teacherService.findById(Long.valueOf(id));
+            byte[] teacher = this.teacherCatalog.snapshot().findById(Long.valueOf(id));
 
             if (teacher == null) {
                 return ResponseEntity.notFound().build();
             }
 
-            return ResponseEntity.ok().body(this.teacherMapper.toDto(teacher));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(teacher);
         } catch (NumberFormatException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @GetMapping("/{id}/sessions")
+    public ResponseEntity<?> findSessions(@PathVariable("id") String id,
+                                          @RequestParam(value = "from", required = false) String from,
+                                          @RequestParam(value = "to", required = false) String to,
+                                          @RequestParam(value = "page", defaultValue = "0") String page,
+                                          @RequestParam(value = "size", defaultValue = "20") String size) {
+        try {
+            Long teacherId = Long.valueOf(id);
+            LocalDate start = from == null ? LocalDate.now() : LocalDate.parse(from);
+            LocalDate end = to == null ? null : LocalDate.parse(to);
+            int pageNumber = Integer.parseInt(page);
+            int pageSize = Math.min(Math.max(Integer.parseInt(size), 1), MAX_SCHEDULE_PAGE_SIZE);
+
+            if (pageNumber < 0 || (end != null && end.isBefore(start))) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            if (!this.teacherService.exists(teacherId)) {
+                return ResponseEntity.notFound().build();
+            }
+
+            Page<Session> sessions = this.sessionService.findByTeacher(teacherId, start, end, pageNumber, pageSize);
+
+            return ResponseEntity.ok().body(new SessionPageDto(this.sessionMapper.toSummaryDto(sessions.getContent()),
+                    pageNumber, pageSize, sessions.getTotalElements()));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping()
-    public ResponseEntity<?> findAll() {
-        List<Teacher> teachers = this.teacherService.findAll();
+    public ResponseEntity<?> findAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                     @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        TeacherCatalog.Snapshot snapshot = this.teacherCatalog.snapshot();
+
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getEtag()).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
 
-        return ResponseEntity.ok().body(this.teacherMapper.toDto(teachers));
+        return response.body(snapshot.getJson());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 }
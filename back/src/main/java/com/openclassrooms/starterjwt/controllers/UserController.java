@@ -1,7 +1,10 @@
 package com.openclassrooms.starterjwt.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.starterjwt.dto.UserDto;
 import com.openclassrooms.starterjwt.mapper.UserMapper;
 import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.repository.UserRepositoryCustom;
 import com.openclassrooms.starterjwt.services.UserService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -9,7 +12,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -17,12 +22,15 @@ import java.util.Objects;
 public class UserController {
     private final UserMapper userMapper;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
 
     public UserController(UserService userService,
-                             UserMapper userMapper) {
+                             UserMapper userMapper,
+                             ObjectMapper objectMapper) {
         this.userMapper = userMapper;
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/{id}")
@@ -40,6 +48,22 @@ public class UserController {
         }
     }
 
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<?> findById(@PathVariable("id") String id, @RequestParam("fields") String fields) {
+        try {
+            Set<String> selected = FieldSelection.parse(fields, UserDto.class, UserRepositoryCustom.PROJECTABLE_FIELDS, this.objectMapper);
+            Map<String, Object> user = this.userService.findProjectedById(Long.valueOf(id), selected);
+
+            if (user == null) {
+                return ResponseEntity.notFound().build();
+            }
+
+            return ResponseEntity.ok().body(user);
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("{id}")
     public ResponseEntity<?> save(@PathVariable("id") String id) {
         try {
@@ -0,0 +1,100 @@
+package com.openclassrooms.starterjwt.datasource;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps a client's reads on the primary for a short window after it wrote,
+ * so it sees its own change while the replica catches up.
+ *
+ * The time of the last committed write travels with the client in a cookie, so the
+ * pin holds whichever instance serves the next request; instances only need clocks
+ * synchronized well within the window. The cookie only chooses where reads go: a
+ * forged value can at most send that client's reads to the primary. Writes and reads
+ * outside of an HTTP request (scheduled jobs) are neither recorded nor pinned.
+ */
+public class ReadYourWrites {
+    public static final String COOKIE = "oc_last_write";
+
+    private static final String LAST_WRITE = ReadYourWrites.class.getName() + ".LAST_WRITE";
+
+    private final long windowMs;
+    private final LongSupplier clock;
+
+    public ReadYourWrites(long windowMs) {
+        this(windowMs, System::currentTimeMillis);
+    }
+
+    ReadYourWrites(long windowMs, LongSupplier clock) {
+        this.windowMs = windowMs;
+        this.clock = clock;
+    }
+
+    public void recordWrite() {
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes != null) {
+            this.recordWrite(attributes.getRequest(), attributes.getResponse());
+        }
+    }
+
+    public boolean isPinned() {
+        ServletRequestAttributes attributes = currentRequest();
+        return attributes != null && this.isPinned(attributes.getRequest());
+    }
+
+    void recordWrite(HttpServletRequest request, HttpServletResponse response) {
+        if (this.windowMs <= 0) {
+            return;
+        }
+
+        long now = this.clock.getAsLong();
+        request.setAttribute(LAST_WRITE, now);
+        if (response != null && !response.isCommitted()) {
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, Long.toString(now))
+                    .path("/")
+                    .maxAge(Duration.ofMillis(this.windowMs).plusSeconds(1).getSeconds())
+                    .httpOnly(true)
+                    .secure(request.isSecure())
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+        }
+    }
+
+    boolean isPinned(HttpServletRequest request) {
+        Long lastWrite = lastWrite(request);
+        return lastWrite != null && Math.abs(this.clock.getAsLong() - lastWrite) < this.windowMs;
+    }
+
+    private static Long lastWrite(HttpServletRequest request) {
+        Object recorded = request.getAttribute(LAST_WRITE);
+        if (recorded instanceof Long) {
+            return (Long) recorded;
+        }
+
+        Cookie cookie = WebUtils.getCookie(request, COOKIE);
+        if (cookie == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static ServletRequestAttributes currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes ? (ServletRequestAttributes) attributes : null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.openclassrooms.starterjwt.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.proxy.NanoTimeStopwatchFactory;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlMetricsConfig {
+
+    @Bean
+    public SqlStatementListener sqlStatementListener(MeterRegistry meterRegistry,
+                                                     @Value("${oc.app.sql.slowThresholdMs:200}") long slowThresholdMs,
+                                                     @Value("${oc.app.sql.maxStatements:500}") int maxStatements) {
+        return new SqlStatementListener(meterRegistry, slowThresholdMs, maxStatements);
+    }
+
+    @Bean
+    public SqlStatementsEndpoint sqlStatementsEndpoint(SqlStatementListener sqlStatementListener) {
+        return new SqlStatementsEndpoint(sqlStatementListener);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlStatementDataSourcePostProcessor(ObjectProvider<SqlStatementListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource)) {
+                    return bean;
+                }
+
+                ProxyDataSource proxy = ProxyDataSourceBuilder.create("dataSource", (DataSource) bean)
+                        .listener(listener.getObject())
+                        .build();
+                // System.nanoTime() instead of currentTimeMillis(): most statements take under a millisecond
+                proxy.setProxyConfig(ProxyConfig.Builder.from(proxy.getProxyConfig())
+                        .stopwatchFactory(new NanoTimeStopwatchFactory())
+                        .build());
+                return proxy;
+            }
+        };
+    }
+}
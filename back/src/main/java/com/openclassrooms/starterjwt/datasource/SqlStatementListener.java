@@ -0,0 +1,225 @@
+package com.openclassrooms.starterjwt.datasource;
+
+import com.openclassrooms.starterjwt.logging.LogSampler;
+import com.openclassrooms.starterjwt.metrics.RequestTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Times every JDBC statement per normalized SQL and logs the ones over the slow threshold.
+ *
+ * Bind values are never logged, only their types, and are only read for a slow
+ * statement. The number of distinct statements is capped so that the statement tag
+ * stays bounded, and each statement timer publishes a fixed set of latency buckets
+ * instead of the full percentile histogram. Slow query warnings are sampled so that
+ * a database stall does not flood the log. The elapsed time is the one measured by
+ * datasource-proxy, in nanoseconds (see SqlMetricsConfig).
+ */
+public class SqlStatementListener implements QueryExecutionListener {
+    public static final String METER = "db.statement";
+
+    static final String OVERFLOW = "other";
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementListener.class);
+
+    private static final Pattern COMMENT = Pattern.compile("--[^\\n]*|/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin \\(\\?(?:, ?\\?)*\\)");
+    private static final Pattern NESTED = Pattern.compile("\\([^()]*\\)");
+    private static final Duration[] BUCKETS = {
+            Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(25),
+            Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(2)
+    };
+
+    private static final Pattern TABLE = Pattern.compile("(?i)\\b(?:from|into|update|table)\\s+([\\w.`\"]+)");
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final int maxStatements;
+    private final Map<String, Statement> statements = new ConcurrentHashMap<>();
+    private final LogSampler slowQueryLog = new LogSampler(20, Duration.ofSeconds(1));
+
+    public SqlStatementListener(MeterRegistry meterRegistry, long slowThresholdMs, int maxStatements) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+
+        long elapsed = execInfo.getElapsedTime();
+        RequestTiming.recordSql(elapsed);
+        QueryInfo query = queryInfoList.get(0);
+        List<List<ParameterSetOperation>> parameters = query.getParametersList();
+
+        this.record(query.getQuery(), elapsed, () -> binds(parameters), Math.max(1, parameters.size()) * queryInfoList.size());
+    }
+
+    void record(String sql, long elapsedNanos, Supplier<List<Object>> binds, int batchSize) {
+        Statement statement = this.statement(normalize(sql));
+        statement.timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (elapsedNanos >= this.slowThresholdNanos && logger.isWarnEnabled()) {
+            long suppressed = this.slowQueryLog.sample();
+            if (suppressed >= 0) {
+                logger.warn("{} {}", slowQueryMessage(statement, elapsedNanos, binds.get(), batchSize), kv("suppressed", suppressed));
+            }
+        }
+    }
+
+    private static List<Object> binds(List<List<ParameterSetOperation>> parameters) {
+        List<Object> binds = new ArrayList<>();
+        if (!parameters.isEmpty()) {
+            for (ParameterSetOperation operation : parameters.get(0)) {
+                Object[] args = operation.getArgs();
+                binds.add(args.length > 1 ? args[1] : null);
+            }
+        }
+        return binds;
+    }
+
+    public Collection<Statement> statements() {
+        return Collections.unmodifiableCollection(this.statements.values());
+    }
+
+    private Statement statement(String sql) {
+        String id = id(sql);
+        Statement statement = this.statements.get(id);
+        if (statement != null) {
+            return statement;
+        }
+
+        if (this.statements.size() >= this.maxStatements) {
+            return this.statements.computeIfAbsent(OVERFLOW, key -> new Statement(key, "other", "", "(other statements)", this.meterRegistry));
+        }
+        return this.statements.computeIfAbsent(id, key -> new Statement(key, operation(sql), table(sql), sql, this.meterRegistry));
+    }
+
+    static String normalize(String sql) {
+        String normalized = COMMENT.matcher(sql).replaceAll(" ");
+        normalized = WHITESPACE.matcher(normalized.trim()).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        return IN_LIST.matcher(normalized).replaceAll("in (?)");
+    }
+
+    static String id(String normalizedSql) {
+        CRC32 crc = new CRC32();
+        crc.update(normalizedSql.getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x", crc.getValue());
+    }
+
+    static String operation(String normalizedSql) {
+        int end = normalizedSql.indexOf(' ');
+        String keyword = (end < 0 ? normalizedSql : normalizedSql.substring(0, end)).toLowerCase(Locale.ROOT);
+        switch (keyword) {
+            case "select":
+            case "insert":
+            case "update":
+            case "delete":
+                return keyword;
+            default:
+                return "other";
+        }
+    }
+
+    static String table(String normalizedSql) {
+        String outer = normalizedSql;
+        for (String previous = null; !outer.equals(previous); ) {
+            previous = outer;
+            outer = NESTED.matcher(outer).replaceAll(" ");
+        }
+
+        Matcher matcher = TABLE.matcher(outer);
+        return matcher.find() ? matcher.group(1).replaceAll("[`\"]", "").toUpperCase(Locale.ROOT) : "";
+    }
+
+    static String slowQueryMessage(Statement statement, long elapsedNanos, List<Object> binds, int batchSize) {
+        List<String> types = new ArrayList<>();
+        for (Object bind : binds) {
+            types.add(bind == null ? "null" : bind.getClass().getSimpleName());
+        }
+
+        return String.format("Slow SQL %d ms [%s] %s binds=%s%s",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                statement.getId(),
+                statement.getSql(),
+                types,
+                batchSize > 1 ? " batch=" + batchSize : "");
+    }
+
+    public static final class Statement {
+        private final String id;
+        private final String operation;
+        private final String table;
+        private final String sql;
+        private final Timer timer;
+
+        Statement(String id, String operation, String table, String sql, MeterRegistry meterRegistry) {
+            this.id = id;
+            this.operation = operation;
+            this.table = table;
+            this.sql = sql;
+            this.timer = Timer.builder(METER)
+                    .description("JDBC statement execution time per normalized statement")
+                    .tag("statement", id)
+                    .tag("operation", operation)
+                    .tag("table", table)
+                    .serviceLevelObjectives(BUCKETS)
+                    .register(meterRegistry);
+        }
+
+        public String getId() {
+            return this.id;
+        }
+
+        public String getOperation() {
+            return this.operation;
+        }
+
+        public String getTable() {
+            return this.table;
+        }
+
+        public String getSql() {
+            return this.sql;
+        }
+
+        public Timer getTimer() {
+            return this.timer;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.openclassrooms.starterjwt.datasource;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Lists the normalized statements behind the db.statement meter, slowest in total first.
+ */
+@Endpoint(id = "sqlstatements")
+public class SqlStatementsEndpoint {
+    private final SqlStatementListener listener;
+
+    public SqlStatementsEndpoint(SqlStatementListener listener) {
+        this.listener = listener;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> statements() {
+        return this.listener.statements().stream()
+                .sorted(Comparator.comparingDouble((SqlStatementListener.Statement statement) ->
+                        statement.getTimer().totalTime(TimeUnit.MILLISECONDS)).reversed())
+                .map(SqlStatementsEndpoint::describe)
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> describe(SqlStatementListener.Statement statement) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", statement.getId());
+        row.put("operation", statement.getOperation());
+        row.put("table", statement.getTable());
+        row.put("sql", statement.getSql());
+        row.put("count", statement.getTimer().count());
+        row.put("totalMs", statement.getTimer().totalTime(TimeUnit.MILLISECONDS));
+        row.put("meanMs", statement.getTimer().mean(TimeUnit.MILLISECONDS));
+        row.put("maxMs", statement.getTimer().max(TimeUnit.MILLISECONDS));
+        return row;
+    }
+}
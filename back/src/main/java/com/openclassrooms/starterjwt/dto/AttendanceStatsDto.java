@@ -0,0 +1,18 @@
+package com.openclassrooms.starterjwt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceStatsDto {
+    private Map<Long, Long> teachers;
+
+    private Map<String, Long> weeks;
+
+    private Map<Long, Long> sessions;
+}
@@ -1,12 +1,13 @@
 package com.openclassrooms.starterjwt.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.NotNull;
-import javax.validation.constraints.Size;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.List;
@@ -31,8 +32,11 @@ public class SessionDto {
     @Size(max = 2500)
     private String description;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<Long> users;
 
+    private long participantCount;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
@@ -0,0 +1,22 @@
+package com.openclassrooms.starterjwt.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@ResponseStatus(value= HttpStatus.BAD_REQUEST)
+public class UnknownIdsException extends RuntimeException {
+    private final List<Long> ids;
+
+    public UnknownIdsException(String type, Collection<Long> ids) {
+        super("Unknown " + type + " id(s): " + ids);
+        this.ids = new ArrayList<>(ids);
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+}
@@ -0,0 +1,37 @@
+package com.openclassrooms.starterjwt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name(ControllerDispatchEvent.NAME)
+@Label("Controller Dispatch")
+@Description("Handling of a request by a controller method, from dispatch to completion")
+@Category({"Yoga App", "Web"})
+@StackTrace(false)
+@Threshold("10 ms")
+public class ControllerDispatchEvent extends jdk.jfr.Event {
+    public static final String NAME = "yoga.ControllerDispatch";
+
+    @Label("Request Id")
+    public String requestId;
+
+    @Label("User Id")
+    @Description("Id of the authenticated user, 0 for an anonymous request")
+    public long userId;
+
+    @Label("HTTP Method")
+    public String method;
+
+    @Label("URI Template")
+    public String uri;
+
+    @Label("Handler")
+    public String handler;
+
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,62 @@
+package com.openclassrooms.starterjwt.jfr;
+
+import com.openclassrooms.starterjwt.security.services.UserDetailsImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Emits a {@link ControllerDispatchEvent} for every request handled by a controller method.
+ */
+public class ControllerDispatchInterceptor implements HandlerInterceptor {
+    private static final String EVENT = ControllerDispatchInterceptor.class.getName() + ".event";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            ControllerDispatchEvent event = new ControllerDispatchEvent();
+            if (event.isEnabled()) {
+                event.begin();
+                request.setAttribute(EVENT, event);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object attribute = request.getAttribute(EVENT);
+        if (!(attribute instanceof ControllerDispatchEvent)) {
+            return;
+        }
+        request.removeAttribute(EVENT);
+
+        ControllerDispatchEvent event = (ControllerDispatchEvent) attribute;
+        event.end();
+        if (event.shouldCommit()) {
+            HandlerMethod method = (HandlerMethod) handler;
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+            event.requestId = RequestIds.current();
+            event.userId = userId();
+            event.method = request.getMethod();
+            event.uri = pattern != null ? pattern.toString() : request.getRequestURI();
+            event.handler = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+            event.status = response.getStatus();
+            event.commit();
+        }
+    }
+
+    private static long userId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
+            return ((UserDetailsImpl) authentication.getPrincipal()).getId();
+        }
+        return 0;
+    }
+}
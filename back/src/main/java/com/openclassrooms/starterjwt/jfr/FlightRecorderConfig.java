@@ -0,0 +1,63 @@
+package com.openclassrooms.starterjwt.jfr;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Java Flight Recorder events for the request hot paths and the jfr actuator endpoint.
+ * Request-scoped events carry the X-Request-Id of their request (see RequestIdFilter).
+ *
+ * Events cost a flag check while no recording has them enabled; the thresholds
+ * below apply to recordings started through the endpoint. Off unless
+ * oc.app.jfr.enabled=true: a dump exposes heap, thread and environment details,
+ * so the endpoint is also restricted to admins (see WebSecurityConfig).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "oc.app.jfr", name = "enabled", havingValue = "true")
+public class FlightRecorderConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ControllerDispatchInterceptor());
+    }
+
+    // Ahead of the security filter chain, so JWT verification already has the id
+    @Bean
+    public FilterRegistrationBean<RequestIdFilter> requestIdFilter() {
+        FilterRegistrationBean<RequestIdFilter> registration = new FilterRegistrationBean<>(new RequestIdFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public MappingEventAspect mappingEventAspect() {
+        return new MappingEventAspect();
+    }
+
+    @Bean
+    public FlightRecorderEndpoint flightRecorderEndpoint(@Value("${oc.app.jfr.threshold.jwtVerification:1ms}") Duration jwtVerification,
+                                                         @Value("${oc.app.jfr.threshold.userLookup:1ms}") Duration userLookup,
+                                                         @Value("${oc.app.jfr.threshold.participation:0ms}") Duration participation,
+                                                         @Value("${oc.app.jfr.threshold.mapping:1ms}") Duration mapping,
+                                                         @Value("${oc.app.jfr.threshold.controllerDispatch:10ms}") Duration controllerDispatch,
+                                                         @Value("${oc.app.jfr.maxAge:10m}") Duration maxAge) {
+        Map<String, Duration> thresholds = new LinkedHashMap<>();
+        thresholds.put(JwtVerificationEvent.NAME, jwtVerification);
+        thresholds.put(UserLookupEvent.NAME, userLookup);
+        thresholds.put(ParticipationEvent.NAME, participation);
+        thresholds.put(MappingEvent.NAME, mapping);
+        thresholds.put(ControllerDispatchEvent.NAME, controllerDispatch);
+
+        return new FlightRecorderEndpoint(thresholds, maxAge);
+    }
+}
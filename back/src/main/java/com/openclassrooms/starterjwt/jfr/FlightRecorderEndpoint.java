@@ -0,0 +1,111 @@
+package com.openclassrooms.starterjwt.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts, dumps and stops a flight recording of the running application.
+ *
+ * The recording uses the JDK "default" settings (GC, locks, I/O...) and enables the
+ * application events with the configured thresholds. POST starts it, GET returns a
+ * .jfr dump of what has been recorded so far, DELETE stops it.
+ *
+ * The dump is written to a temporary file and streamed from there; the file is
+ * deleted once the response has been read.
+ */
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+    static final String RECORDING_NAME = "yoga-app";
+
+    private final Map<String, Duration> thresholds;
+    private final Duration maxAge;
+    private Recording recording;
+
+    public FlightRecorderEndpoint(Map<String, Duration> thresholds, Duration maxAge) {
+        this.thresholds = thresholds;
+        this.maxAge = maxAge;
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start() throws IOException, ParseException {
+        if (this.recording == null || this.recording.getState() == RecordingState.CLOSED) {
+            Recording started = new Recording(Configuration.getConfiguration("default"));
+            started.setName(RECORDING_NAME);
+            started.setMaxAge(this.maxAge);
+            started.setToDisk(true);
+            this.thresholds.forEach((event, threshold) -> started.enable(event).withThreshold(threshold));
+            started.start();
+            this.recording = started;
+        }
+        return this.status();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    @Nullable
+    public synchronized Resource dump() {
+        if (this.recording == null || this.recording.getState() != RecordingState.RUNNING) {
+            return null;
+        }
+
+        Path file = null;
+        try {
+            file = Files.createTempFile(RECORDING_NAME, ".jfr");
+            this.recording.dump(file);
+            return new TemporaryFileResource(file);
+        } catch (IOException e) {
+            if (file != null) {
+                file.toFile().delete();
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (this.recording != null) {
+            this.recording.close();
+            this.recording = null;
+        }
+        return this.status();
+    }
+
+    private Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("name", RECORDING_NAME);
+        status.put("state", this.recording != null ? this.recording.getState().name() : RecordingState.CLOSED.name());
+        status.put("maxAge", this.maxAge.toString());
+        status.put("thresholds", this.thresholds);
+        return status;
+    }
+
+    private static class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(this.getFile().toPath(), StandardOpenOption.DELETE_ON_CLOSE);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.openclassrooms.starterjwt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name(JwtVerificationEvent.NAME)
+@Label("JWT Verification")
+@Description("Signature and expiry check of a bearer token")
+@Category({"Yoga App", "Security"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class JwtVerificationEvent extends jdk.jfr.Event {
+    public static final String NAME = "yoga.JwtVerification";
+
+    @Label("Request Id")
+    public String requestId;
+
+    @Label("Subject")
+    @Description("Subject of the token, only set once its signature is verified")
+    public String subject;
+
+    @Label("Valid")
+    public boolean valid;
+}
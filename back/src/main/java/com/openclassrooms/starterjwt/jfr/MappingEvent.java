@@ -0,0 +1,24 @@
+package com.openclassrooms.starterjwt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name(MappingEvent.NAME)
+@Label("Mapping")
+@Description("Entity to DTO conversion, or back, by a mapper")
+@Category({"Yoga App", "Web"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class MappingEvent extends jdk.jfr.Event {
+    public static final String NAME = "yoga.Mapping";
+
+    @Label("Mapper")
+    public String mapper;
+
+    @Label("Method")
+    public String method;
+}
@@ -0,0 +1,39 @@
+package com.openclassrooms.starterjwt.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Emits a {@link MappingEvent} around every call into a DTO mapper, named after the
+ * mapper type rather than its MapStruct implementation.
+ */
+@Aspect
+public class MappingEventAspect {
+    private static final String GENERATED_SUFFIX = "Impl";
+
+    @Around("execution(public * com.openclassrooms.starterjwt.mapper..*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        MappingEvent event = new MappingEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.mapper = mapper(joinPoint.getSignature().getDeclaringType());
+                event.method = joinPoint.getSignature().getName();
+                event.commit();
+            }
+        }
+    }
+
+    private static String mapper(Class<?> type) {
+        String name = type.getSimpleName();
+        return name.endsWith(GENERATED_SUFFIX) ? name.substring(0, name.length() - GENERATED_SUFFIX.length()) : name;
+    }
+}
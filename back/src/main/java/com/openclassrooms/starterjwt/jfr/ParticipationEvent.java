@@ -0,0 +1,33 @@
+package com.openclassrooms.starterjwt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name(ParticipationEvent.NAME)
+@Label("Participation")
+@Description("A user joining or leaving a session")
+@Category({"Yoga App", "Sessions"})
+@StackTrace(false)
+@Threshold("0 ms")
+public class ParticipationEvent extends jdk.jfr.Event {
+    public static final String NAME = "yoga.Participation";
+
+    @Label("Session Id")
+    public long sessionId;
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Action")
+    public String action;
+
+    public ParticipationEvent(Long sessionId, Long userId, String action) {
+        this.sessionId = sessionId != null ? sessionId : 0L;
+        this.userId = userId != null ? userId : 0L;
+        this.action = action;
+    }
+}
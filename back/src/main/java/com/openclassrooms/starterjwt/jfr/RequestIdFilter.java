@@ -0,0 +1,42 @@
+package com.openclassrooms.starterjwt.jfr;
+
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Gives every request an id, shared by its flight recorder events and its log lines.
+ *
+ * An X-Request-Id set by a proxy is kept when it is short and plain, otherwise a
+ * random one is generated; either way it is echoed in the response. The id is held
+ * in the MDC (see {@link RequestIds}), so the JSON logs carry it as a requestId field.
+ */
+public class RequestIdFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Request-Id";
+
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(HEADER);
+        if (requestId == null || !VALID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+
+        response.setHeader(HEADER, requestId);
+        MDC.put(RequestIds.MDC_KEY, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(RequestIds.MDC_KEY);
+        }
+    }
+}
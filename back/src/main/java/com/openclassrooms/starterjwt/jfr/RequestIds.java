@@ -0,0 +1,23 @@
+package com.openclassrooms.starterjwt.jfr;
+
+import org.slf4j.MDC;
+
+/**
+ * Id of the request served by the current thread, as set by {@link RequestIdFilter}.
+ *
+ * Kept apart from the filter so that JwtUtils does not load servlet classes
+ * when it is reused outside of a servlet application (the catalog).
+ */
+public final class RequestIds {
+    public static final String MDC_KEY = "requestId";
+
+    private RequestIds() {
+    }
+
+    /**
+     * Null outside of a request.
+     */
+    public static String current() {
+        return MDC.get(MDC_KEY);
+    }
+}
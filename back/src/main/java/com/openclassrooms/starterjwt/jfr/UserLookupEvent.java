@@ -0,0 +1,24 @@
+package com.openclassrooms.starterjwt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name(UserLookupEvent.NAME)
+@Label("User Lookup")
+@Description("Load of the authenticated user by email")
+@Category({"Yoga App", "Security"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class UserLookupEvent extends jdk.jfr.Event {
+    public static final String NAME = "yoga.UserLookup";
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Found")
+    public boolean found;
+}
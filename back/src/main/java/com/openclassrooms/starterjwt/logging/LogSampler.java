@@ -0,0 +1,51 @@
+package com.openclassrooms.starterjwt.logging;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limit for high-volume log events.
+ *
+ * The first {@code limit} events of each window are logged and the others are
+ * counted; the next logged event carries the number suppressed since, so a flood
+ * of rejected tokens costs a few lines per second instead of one per request.
+ */
+public final class LogSampler {
+    private final int limit;
+    private final long windowNanos;
+    private final LongSupplier clock;
+    private long windowStart;
+    private int logged;
+    private long suppressed;
+
+    public LogSampler(int limit, Duration window) {
+        this(limit, window, System::nanoTime);
+    }
+
+    LogSampler(int limit, Duration window, LongSupplier clock) {
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+        this.windowStart = clock.getAsLong() - this.windowNanos;
+    }
+
+    /**
+     * @return the number of events suppressed since the last logged one, or -1 when this event should be dropped
+     */
+    public synchronized long sample() {
+        long now = this.clock.getAsLong();
+        if (now - this.windowStart >= this.windowNanos) {
+            this.windowStart = now;
+            this.logged = 0;
+        }
+        if (this.logged >= this.limit) {
+            this.suppressed++;
+            return -1;
+        }
+
+        this.logged++;
+        long dropped = this.suppressed;
+        this.suppressed = 0;
+        return dropped;
+    }
+}
@@ -0,0 +1,86 @@
+package com.openclassrooms.starterjwt.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Records the bytes allocated by the request thread while it handles each request.
+ *
+ * Runs before Spring Security so that authentication failures and login are
+ * accounted for; tags are the same bounded ones as http.server.requests, computed by
+ * the same observation convention. Allocation on another thread (async export) is not
+ * attributed to the request, and virtual threads do not report their allocation.
+ */
+public class AllocationFilter extends OncePerRequestFilter {
+    public static final String METER = "http.server.allocation";
+
+    private static final DefaultServerRequestObservationConvention TAGS = new DefaultServerRequestObservationConvention();
+
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threads;
+
+    public AllocationFilter(MeterRegistry meterRegistry, com.sun.management.ThreadMXBean threads) {
+        this.meterRegistry = meterRegistry;
+        this.threads = threads;
+    }
+
+    public static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        if (!allocations.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        return allocations;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long thread = Thread.currentThread().getId();
+        long before = this.threads.getThreadAllocatedBytes(thread);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long allocated = this.threads.getThreadAllocatedBytes(thread) - before;
+            if (before >= 0 && allocated >= 0) {
+                DistributionSummary.builder(METER)
+                        .baseUnit("bytes")
+                        .tags(tags(request, response))
+                        .register(this.meterRegistry)
+                        .record(allocated);
+            }
+        }
+    }
+
+    private static Tags tags(HttpServletRequest request, HttpServletResponse response) {
+        ServerRequestObservationContext context = new ServerRequestObservationContext(request, response);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            context.setPathPattern(pattern.toString());
+        }
+
+        Tags tags = Tags.empty();
+        for (KeyValue keyValue : TAGS.getLowCardinalityKeyValues(context)) {
+            tags = tags.and(keyValue.getKey(), keyValue.getValue());
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,34 @@
+package com.openclassrooms.starterjwt.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-endpoint allocation accounting, disabled with oc.app.allocation.enabled=false
+ * or when the JVM cannot measure per-thread allocation.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "oc.app.allocation", name = "enabled", matchIfMissing = true)
+public class AllocationMetricsConfig {
+
+    @Bean
+    public FilterRegistrationBean<AllocationFilter> allocationFilter(MeterRegistry meterRegistry) {
+        com.sun.management.ThreadMXBean threads = AllocationFilter.threadMXBean();
+
+        FilterRegistrationBean<AllocationFilter> registration = new FilterRegistrationBean<>(new AllocationFilter(meterRegistry, threads));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        registration.setEnabled(threads != null);
+        return registration;
+    }
+
+    @Bean
+    public MeterFilter allocationUriTagLimit(@Value("${management.metrics.web.server.max-uri-tags:100}") int maxUriTags) {
+        return MeterFilter.maximumAllowableTags(AllocationFilter.METER, "uri", maxUriTags, MeterFilter.deny());
+    }
+}
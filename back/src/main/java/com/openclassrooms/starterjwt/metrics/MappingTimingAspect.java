@@ -0,0 +1,27 @@
+package com.openclassrooms.starterjwt.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Attributes the time spent in the DTO mappers to the current request.
+ */
+@Aspect
+public class MappingTimingAspect {
+
+    @Around("execution(public * com.openclassrooms.starterjwt.mapper..*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null || !timing.enterMapping()) {
+            return joinPoint.proceed();
+        }
+
+        long started = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.exitMapping(System.nanoTime() - started);
+        }
+    }
+}
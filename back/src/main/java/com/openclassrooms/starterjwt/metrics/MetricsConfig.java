@@ -0,0 +1,24 @@
+package com.openclassrooms.starterjwt.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Latency timers for the service layer.
+ *
+ * HTTP endpoints are timed by Spring MVC as http.server.requests, tagged with the
+ * path template; service methods annotated with {@code @Timed(SERVICE_TIMER)} are
+ * timed here, tagged with their class and method name. Histogram buckets for both
+ * are configured in application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_TIMER = "yoga.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,127 @@
+package com.openclassrooms.starterjwt.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Time spent by the current request in authentication, SQL, mapping and serialization.
+ *
+ * Bound to the request thread by {@link ServerTimingFilter}; the static recorders
+ * are no-ops when no request is being timed, so callers do not need to know
+ * whether Server-Timing is enabled. Work done on another thread (async export)
+ * is not attributed to the request.
+ */
+public final class RequestTiming {
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt;
+    private long authNanos;
+    private int sqlCount;
+    private long sqlNanos;
+    private long mappingNanos;
+    private boolean mapping;
+    private long serializationStartedAt;
+    private long committedAt;
+
+    RequestTiming(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void recordAuth(long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.authNanos += nanos;
+        }
+    }
+
+    public static void recordSql(long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.sqlCount++;
+            timing.sqlNanos += nanos;
+        }
+    }
+
+    static void markSerialization() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.serializationStartedAt == 0) {
+            timing.serializationStartedAt = System.nanoTime();
+        }
+    }
+
+    boolean enterMapping() {
+        if (this.mapping) {
+            return false;
+        }
+        this.mapping = true;
+        return true;
+    }
+
+    void exitMapping(long nanos) {
+        this.mapping = false;
+        this.mappingNanos += nanos;
+    }
+
+    void committed(long now) {
+        if (this.committedAt == 0) {
+            this.committedAt = now;
+        }
+    }
+
+    String serverTiming(long now) {
+        StringBuilder header = new StringBuilder()
+                .append("auth;dur=").append(millis(this.authNanos))
+                .append(", db;dur=").append(millis(this.sqlNanos)).append(";desc=\"").append(this.sqlCount).append(" queries\"")
+                .append(", mapping;dur=").append(millis(this.mappingNanos));
+        if (this.serializationStartedAt != 0) {
+            header.append(", serialization;dur=").append(millis(this.serializationNanos(now)));
+        }
+        return header.append(", total;dur=").append(millis(now - this.startedAt)).toString();
+    }
+
+    Object[] accessLog(String method, String uri, int status, long now) {
+        return new Object[] {
+                kv("method", method),
+                kv("uri", uri),
+                kv("status", status),
+                kv("total_ms", roundedMillis(now - this.startedAt)),
+                kv("auth_ms", roundedMillis(this.authNanos)),
+                kv("db_count", this.sqlCount),
+                kv("db_ms", roundedMillis(this.sqlNanos)),
+                kv("mapping_ms", roundedMillis(this.mappingNanos)),
+                kv("serialization_ms", roundedMillis(this.serializationNanos(now)))
+        };
+    }
+
+    private long serializationNanos(long now) {
+        if (this.serializationStartedAt == 0) {
+            return 0;
+        }
+        return (this.committedAt != 0 ? this.committedAt : now) - this.serializationStartedAt;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    // Numbers rather than strings, so the JSON log fields can be aggregated as they are
+    private static double roundedMillis(long nanos) {
+        return Math.round(nanos / (double) TimeUnit.MICROSECONDS.toNanos(10)) / 100.0;
+    }
+}
@@ -0,0 +1,30 @@
+package com.openclassrooms.starterjwt.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Opt-in per-request timing breakdown, enabled with oc.app.serverTiming.enabled=true.
+ *
+ * The filter runs before Spring Security so that JWT validation and the user load
+ * in AuthTokenFilter are part of the measured request.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "oc.app.serverTiming", name = "enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Bean
+    public MappingTimingAspect mappingTimingAspect() {
+        return new MappingTimingAspect();
+    }
+}
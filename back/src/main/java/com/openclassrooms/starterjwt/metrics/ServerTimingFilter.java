@@ -0,0 +1,74 @@
+package com.openclassrooms.starterjwt.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Adds a Server-Timing header to every response and logs one access line per request.
+ *
+ * The header is written just before the response is committed, so serialization
+ * is measured up to the first flush of the body.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Server-Timing";
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.begin();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, timing);
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            timedResponse.addHeader();
+            RequestTiming.end();
+
+            if (logger.isInfoEnabled()) {
+                logger.info("Request {} {} {} {} {} {} {} {} {}",
+                        timing.accessLog(request.getMethod(), uri(request), response.getStatus(), System.nanoTime()));
+            }
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+
+    private static class ServerTimingResponse extends OnCommittedResponseWrapper {
+        private final RequestTiming timing;
+        private boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            this.addHeader();
+        }
+
+        void addHeader() {
+            if (this.added || this.isCommitted()) {
+                return;
+            }
+            this.added = true;
+
+            long now = System.nanoTime();
+            this.timing.committed(now);
+            this.setHeader(HEADER, this.timing.serverTiming(now));
+        }
+    }
+}
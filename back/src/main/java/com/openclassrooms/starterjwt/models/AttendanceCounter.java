@@ -0,0 +1,52 @@
+package com.openclassrooms.starterjwt.models;
+
+import lombok.*;
+import lombok.experimental.Accessors;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+
+@Entity
+@Table(name = "ATTENDANCE_COUNTERS")
+@IdClass(AttendanceCounter.Key.class)
+@Data
+@Accessors(chain = true)
+@EqualsAndHashCode(of = {"scope", "scopeKey", "shard"})
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class AttendanceCounter {
+    public enum Scope {
+        TEACHER,
+        WEEK,
+        SESSION
+    }
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Scope scope;
+
+    @Id
+    @Column(name = "scope_key")
+    private Long scopeKey;
+
+    @Id
+    private int shard;
+
+    private long participants;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Scope scope;
+
+        private Long scopeKey;
+
+        private int shard;
+    }
+}
@@ -0,0 +1,17 @@
+package com.openclassrooms.starterjwt.repository;
+
+import com.openclassrooms.starterjwt.models.AttendanceCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface AttendanceCounterRepository extends JpaRepository<AttendanceCounter, AttendanceCounter.Key>, AttendanceCounterRepositoryCustom {
+    @Transactional
+    @Modifying
+    @Query("delete from AttendanceCounter c where c.scope = :scope and c.scopeKey = :scopeKey")
+    int deleteByScopeKey(@Param("scope") AttendanceCounter.Scope scope, @Param("scopeKey") Long scopeKey);
+}
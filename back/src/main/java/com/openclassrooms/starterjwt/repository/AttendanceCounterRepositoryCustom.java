@@ -0,0 +1,11 @@
+package com.openclassrooms.starterjwt.repository;
+
+import com.openclassrooms.starterjwt.models.AttendanceCounter;
+
+import java.util.List;
+
+public interface AttendanceCounterRepositoryCustom {
+    void upsert(AttendanceCounter.Scope scope, Long scopeKey, int shard, long delta);
+
+    List<Object[]> findDrift();
+}
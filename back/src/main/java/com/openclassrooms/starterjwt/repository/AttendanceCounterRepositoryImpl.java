@@ -0,0 +1,59 @@
+package com.openclassrooms.starterjwt.repository;
+
+import com.openclassrooms.starterjwt.models.AttendanceCounter;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+
+/**
+ * Counter writes and the reconciliation read, in native SQL.
+ *
+ * upsert creates the counter row or adds to it in one statement, so two first
+ * increments of the same counter cannot both try to insert it. findDrift reads the
+ * participations and the stored counters in a single statement, hence from one
+ * snapshot: each row is either an expected count (positive) or a stored sum
+ * (negated), and the drift of a counter is the sum of its rows. WEEK expectations
+ * are returned per session date, the week key being computed in Java.
+ */
+public class AttendanceCounterRepositoryImpl implements AttendanceCounterRepositoryCustom {
+    private static final String UPSERT = "insert into ATTENDANCE_COUNTERS (scope, scope_key, shard, participants)"
+            + " values (:scope, :scopeKey, :shard, :delta)"
+            + " on duplicate key update participants = participants + :delta";
+
+    private static final String DRIFT = "select 'SESSION' as scope, p.session_id as scope_key, null as session_date, count(*) as participants"
+            + " from PARTICIPATE p group by p.session_id"
+            + " union all select 'TEACHER', s.teacher_id, null, count(*)"
+            + " from PARTICIPATE p join SESSIONS s on s.id = p.session_id where s.teacher_id is not null group by s.teacher_id"
+            + " union all select 'WEEK', null, s.date, count(*)"
+            + " from PARTICIPATE p join SESSIONS s on s.id = p.session_id where s.date is not null group by s.date"
+            + " union all select c.scope, c.scope_key, null, -sum(c.participants)"
+            + " from ATTENDANCE_COUNTERS c group by c.scope, c.scope_key";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void upsert(AttendanceCounter.Scope scope, Long scopeKey, int shard, long delta) {
+        this.entityManager.createNativeQuery(UPSERT)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(AttendanceCounter.class)
+                .setParameter("scope", scope.name())
+                .setParameter("scopeKey", scopeKey)
+                .setParameter("shard", shard)
+                .setParameter("delta", delta)
+                .executeUpdate();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findDrift() {
+        return this.entityManager.createNativeQuery(DRIFT)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(AttendanceCounter.class)
+                .getResultList();
+    }
+}
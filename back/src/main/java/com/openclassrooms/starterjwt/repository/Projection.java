@@ -0,0 +1,32 @@
+package com.openclassrooms.starterjwt.repository;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+final class Projection {
+    private final List<String> fields;
+
+    private final String select;
+
+    Projection(Map<String, String> columns, Set<String> requested) {
+        if (requested.isEmpty() || !columns.keySet().containsAll(requested)) {
+            throw new IllegalArgumentException("Cannot project " + requested + " on " + columns.keySet());
+        }
+        this.fields = new ArrayList<>(requested);
+        this.select = "select " + this.fields.stream().map(columns::get).collect(Collectors.joining(", "));
+    }
+
+    String select() {
+        return this.select;
+    }
+
+    Map<String, Object> toRow(Object result) {
+        Object[] values = result instanceof Object[] ? (Object[]) result : new Object[]{result};
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            row.put(this.fields.get(i), values[i]);
+        }
+        return row;
+    }
+}
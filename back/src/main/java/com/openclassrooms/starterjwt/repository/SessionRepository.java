@@ -1,9 +1,31 @@
 package com.openclassrooms.starterjwt.repository;
 
 import com.openclassrooms.starterjwt.models.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
 
 @Repository
-public interface SessionRepository  extends JpaRepository<Session, Long> {
+@Transactional(readOnly = true)
+public interface SessionRepository  extends JpaRepository<Session, Long>, SessionRepositoryCustom {
+    @Override
+    @EntityGraph(attributePaths = "teacher", type = EntityGraph.EntityGraphType.LOAD)
+    List<Session> findAll();
+
+    @Query("select s from Session s where s.teacher.id = :teacherId and s.date >= :from")
+    Page<Session> findScheduleByTeacherId(@Param("teacherId") Long teacherId, @Param("from") Date from, Pageable pageable);
+
+    @Query("select s from Session s where s.teacher.id = :teacherId and s.date >= :from and s.date < :to")
+    Page<Session> findScheduleByTeacherId(@Param("teacherId") Long teacherId, @Param("from") Date from, @Param("to") Date to, Pageable pageable);
+
+    @Query("select count(u) from Session s join s.users u where s.id = :sessionId and u.id = :userId")
+    long countParticipant(@Param("sessionId") Long sessionId, @Param("userId") Long userId);
 }
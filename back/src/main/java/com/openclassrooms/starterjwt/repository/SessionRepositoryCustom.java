@@ -0,0 +1,17 @@
+package com.openclassrooms.starterjwt.repository;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+public interface SessionRepositoryCustom {
+    Set<String> PROJECTABLE_FIELDS = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            "id", "name", "date", "teacher_id", "description", "participantCount", "createdAt", "updatedAt")));
+
+    List<Map<String, Object>> findAllProjected(Set<String> fields);
+
+    Stream<Map<String, Object>> streamAllSummaries(int fetchSize);
+
+    int addParticipant(Long sessionId, Long userId);
+
+    int removeParticipant(Long sessionId, Long userId);
+}
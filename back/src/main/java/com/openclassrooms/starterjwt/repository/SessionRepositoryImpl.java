@@ -0,0 +1,74 @@
+package com.openclassrooms.starterjwt.repository;
+
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class SessionRepositoryImpl implements SessionRepositoryCustom {
+    private static final Map<String, String> COLUMNS = new HashMap<>();
+
+    static {
+        COLUMNS.put("id", "s.id");
+        COLUMNS.put("name", "s.name");
+        COLUMNS.put("date", "s.date");
+        COLUMNS.put("teacher_id", "t.id");
+        COLUMNS.put("description", "s.description");
+        COLUMNS.put("participantCount", "s.participantCount");
+        COLUMNS.put("createdAt", "s.createdAt");
+        COLUMNS.put("updatedAt", "s.updatedAt");
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllProjected(Set<String> fields) {
+        Projection projection = new Projection(COLUMNS, fields);
+
+        List<?> results = this.entityManager
+                .createQuery(projection.select() + " from Session s left join s.teacher t")
+                .getResultList();
+
+        return results.stream().map(projection::toRow).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Map<String, Object>> streamAllSummaries(int fetchSize) {
+        Projection projection = new Projection(COLUMNS, PROJECTABLE_FIELDS);
+
+        Stream<?> results = this.entityManager
+                .createQuery(projection.select() + " from Session s left join s.teacher t order by s.id")
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream();
+
+        return results.map(projection::toRow);
+    }
+
+    @Override
+    @Transactional
+    public int addParticipant(Long sessionId, Long userId) {
+        return this.participation("insert into PARTICIPATE (session_id, user_id) values (:sessionId, :userId)", sessionId, userId);
+    }
+
+    @Override
+    @Transactional
+    public int removeParticipant(Long sessionId, Long userId) {
+        return this.participation("delete from PARTICIPATE where session_id = :sessionId and user_id = :userId", sessionId, userId);
+    }
+
+    private int participation(String sql, Long sessionId, Long userId) {
+        return this.entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("PARTICIPATE")
+                .setParameter("sessionId", sessionId)
+                .setParameter("userId", userId)
+                .executeUpdate();
+    }
+}
@@ -1,15 +1,32 @@
 package com.openclassrooms.starterjwt.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.openclassrooms.starterjwt.cache.SecondLevelCacheConfig;
 import com.openclassrooms.starterjwt.models.User;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+@Transactional(readOnly = true)
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+  @QueryHints({
+      @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USERS_BY_EMAIL)
+  })
   Optional<User> findByEmail(String email);
 
   Boolean existsByEmail(String email); 
+
+  @Query("select u from Session s join s.users u where s.id = :sessionId and u.id > :cursor order by u.id")
+  List<User> findParticipants(@Param("sessionId") Long sessionId, @Param("cursor") Long cursor, Pageable pageable);
 }
@@ -0,0 +1,10 @@
+package com.openclassrooms.starterjwt.repository;
+
+import java.util.*;
+
+public interface UserRepositoryCustom {
+    Set<String> PROJECTABLE_FIELDS = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            "id", "email", "lastName", "firstName", "admin", "createdAt", "updatedAt")));
+
+    Optional<Map<String, Object>> findProjectedById(Long id, Set<String> fields);
+}
@@ -0,0 +1,34 @@
+package com.openclassrooms.starterjwt.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.*;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    private static final Map<String, String> COLUMNS = new HashMap<>();
+
+    static {
+        COLUMNS.put("id", "u.id");
+        COLUMNS.put("email", "u.email");
+        COLUMNS.put("lastName", "u.lastName");
+        COLUMNS.put("firstName", "u.firstName");
+        COLUMNS.put("admin", "u.admin");
+        COLUMNS.put("createdAt", "u.createdAt");
+        COLUMNS.put("updatedAt", "u.updatedAt");
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Map<String, Object>> findProjectedById(Long id, Set<String> fields) {
+        Projection projection = new Projection(COLUMNS, fields);
+
+        List<?> results = this.entityManager
+                .createQuery(projection.select() + " from User u where u.id = :id")
+                .setParameter("id", id)
+                .getResultList();
+
+        return results.stream().findFirst().map(projection::toRow);
+    }
+}
@@ -1,5 +1,6 @@
 package com.openclassrooms.starterjwt.security.jwt;
 
+import java.time.Duration;
 import java.util.Date;
 
 import org.slf4j.Logger;
@@ -8,13 +9,19 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import com.openclassrooms.starterjwt.jfr.JwtVerificationEvent;
+import com.openclassrooms.starterjwt.jfr.RequestIds;
+import com.openclassrooms.starterjwt.logging.LogSampler;
 import com.openclassrooms.starterjwt.security.services.UserDetailsImpl;
 
 import io.jsonwebtoken.*;
 
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
 @Component
 public class JwtUtils {
   private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+  private static final LogSampler invalidTokenLog = new LogSampler(10, Duration.ofSeconds(1));
 
   @Value("${oc.app.jwtSecret}")
   private String jwtSecret;
@@ -39,21 +46,40 @@ public class JwtUtils {
   }
 
   public boolean validateJwtToken(String authToken) {
+    JwtVerificationEvent event = new JwtVerificationEvent();
+    event.begin();
     try {
-      Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
+      event.subject = Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken).getBody().getSubject();
+      event.valid = true;
       return true;
     } catch (SignatureException e) {
-      logger.error("Invalid JWT signature: {}", e.getMessage());
+      logInvalidToken("Invalid JWT signature", e);
     } catch (MalformedJwtException e) {
-      logger.error("Invalid JWT token: {}", e.getMessage());
+      logInvalidToken("Invalid JWT token", e);
     } catch (ExpiredJwtException e) {
-      logger.error("JWT token is expired: {}", e.getMessage());
+      logInvalidToken("JWT token is expired", e);
     } catch (UnsupportedJwtException e) {
-      logger.error("JWT token is unsupported: {}", e.getMessage());
+      logInvalidToken("JWT token is unsupported", e);
     } catch (IllegalArgumentException e) {
-      logger.error("JWT claims string is empty: {}", e.getMessage());
+      logInvalidToken("JWT claims string is empty", e);
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.requestId = RequestIds.current();
+        event.commit();
+      }
     }
 
     return false;
   }
+
+  private static void logInvalidToken(String reason, RuntimeException e) {
+    if (!logger.isErrorEnabled()) {
+      return;
+    }
+    long suppressed = invalidTokenLog.sample();
+    if (suppressed >= 0) {
+      logger.error("{}: {} {}", reason, e.getMessage(), kv("suppressed", suppressed));
+    }
+  }
 }
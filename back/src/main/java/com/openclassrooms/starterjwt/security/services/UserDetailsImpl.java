@@ -3,8 +3,10 @@ package com.openclassrooms.starterjwt.security.services;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -19,6 +21,8 @@ import lombok.Getter;
 public class UserDetailsImpl implements UserDetails {
   private static final long serialVersionUID = 1L;
 
+  public static final String ADMIN = "ADMIN";
+
   private Long id;
 
   private String username;
@@ -33,7 +37,11 @@ public class UserDetailsImpl implements UserDetails {
   private String password;  
   
   public Collection<? extends GrantedAuthority> getAuthorities() {        
-      return new HashSet<GrantedAuthority>();
+      Set<GrantedAuthority> authorities = new HashSet<GrantedAuthority>();
+      if (Boolean.TRUE.equals(admin)) {
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + ADMIN));
+      }
+      return authorities;
   }
 
   @Override
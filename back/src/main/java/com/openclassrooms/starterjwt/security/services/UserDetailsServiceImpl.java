@@ -6,6 +6,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.openclassrooms.starterjwt.jfr.UserLookupEvent;
 import com.openclassrooms.starterjwt.models.User;
 import com.openclassrooms.starterjwt.repository.UserRepository;
 
@@ -18,10 +19,19 @@ public class UserDetailsServiceImpl implements UserDetailsService {
   }
 
   @Override
-  @Transactional
+  @Transactional(readOnly = true)
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    User user = userRepository.findByEmail(username)
-        .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + username));
+    UserLookupEvent event = new UserLookupEvent();
+    event.begin();
+    User user;
+    try {
+      user = userRepository.findByEmail(username)
+          .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + username));
+      event.userId = user.getId();
+      event.found = true;
+    } finally {
+      event.commit();
+    }
 
     return UserDetailsImpl
             .builder()
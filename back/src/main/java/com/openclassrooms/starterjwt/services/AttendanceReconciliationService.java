@@ -0,0 +1,68 @@
+package com.openclassrooms.starterjwt.services;
+
+import com.openclassrooms.starterjwt.models.AttendanceCounter;
+import com.openclassrooms.starterjwt.repository.AttendanceCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Repairs attendance counters that drifted from the PARTICIPATE table.
+ *
+ * Expected counts and stored counters are read by one statement, so the drift comes
+ * from a single snapshot. Every participation change updates PARTICIPATE and the
+ * counters in the same transaction, which leaves the drift unchanged: applying it
+ * as a delta stays correct while writes continue.
+ *
+ * The reconcile is deliberately serial: splitting the drift query into parallel
+ * batches would read them at different points in time and bring back stale deltas.
+ * The one aggregate statement and the few counter updates it yields run on the
+ * scheduler thread.
+ */
+@Service
+public class AttendanceReconciliationService {
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceReconciliationService.class);
+
+    private final AttendanceCounterRepository attendanceCounterRepository;
+
+    private final AttendanceStatsService attendanceStatsService;
+
+    public AttendanceReconciliationService(AttendanceCounterRepository attendanceCounterRepository,
+                                           AttendanceStatsService attendanceStatsService) {
+        this.attendanceCounterRepository = attendanceCounterRepository;
+        this.attendanceStatsService = attendanceStatsService;
+    }
+
+    @Scheduled(cron = "${oc.app.stats.reconcileCron:0 0 3 * * *}")
+    public void scheduledReconcile() {
+        int repaired = this.reconcile();
+
+        logger.info("Attendance reconciliation repaired {} counter(s)", repaired);
+    }
+
+    public int reconcile() {
+        Map<AttendanceCounter.Key, Long> drifts = new HashMap<>();
+        for (Object[] row : this.attendanceCounterRepository.findDrift()) {
+            AttendanceCounter.Scope scope = AttendanceCounter.Scope.valueOf((String) row[0]);
+            Long scopeKey = scope == AttendanceCounter.Scope.WEEK && row[2] != null
+                    ? AttendanceStatsService.weekKey((Date) row[2])
+                    : ((Number) row[1]).longValue();
+            drifts.merge(new AttendanceCounter.Key(scope, scopeKey, 0), ((Number) row[3]).longValue(), Long::sum);
+        }
+
+        int repaired = 0;
+        for (Map.Entry<AttendanceCounter.Key, Long> drift : drifts.entrySet()) {
+            if (drift.getValue() != 0) {
+                this.attendanceStatsService.apply(drift.getKey().getScope(), drift.getKey().getScopeKey(), drift.getValue());
+                repaired++;
+            }
+        }
+
+        return repaired;
+    }
+}
@@ -0,0 +1,101 @@
+package com.openclassrooms.starterjwt.services;
+
+import com.openclassrooms.starterjwt.dto.AttendanceStatsDto;
+import com.openclassrooms.starterjwt.models.AttendanceCounter;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.repository.AttendanceCounterRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.IsoFields;
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+public class AttendanceStatsService {
+    private final AttendanceCounterRepository attendanceCounterRepository;
+
+    @Value("${oc.app.stats.counterShards:8}")
+    private int shards;
+
+    public AttendanceStatsService(AttendanceCounterRepository attendanceCounterRepository) {
+        this.attendanceCounterRepository = attendanceCounterRepository;
+    }
+
+    public void record(Session session, long delta) {
+        if (session == null || delta == 0) {
+            return;
+        }
+
+        this.apply(AttendanceCounter.Scope.SESSION, session.getId(), delta);
+        this.recordTeacherAndWeek(session, delta);
+    }
+
+    public void remove(Session session) {
+        if (session == null) {
+            return;
+        }
+
+        this.recordTeacherAndWeek(session, -participantCount(session));
+        this.attendanceCounterRepository.deleteByScopeKey(AttendanceCounter.Scope.SESSION, session.getId());
+    }
+
+    private void recordTeacherAndWeek(Session session, long delta) {
+        if (session.getTeacher() != null) {
+            this.apply(AttendanceCounter.Scope.TEACHER, session.getTeacher().getId(), delta);
+        }
+        if (session.getDate() != null) {
+            this.apply(AttendanceCounter.Scope.WEEK, weekKey(session.getDate()), delta);
+        }
+    }
+
+    public void apply(AttendanceCounter.Scope scope, Long scopeKey, long delta) {
+        if (scopeKey == null || delta == 0) {
+            return;
+        }
+
+        int shard = this.shards > 1 ? ThreadLocalRandom.current().nextInt(this.shards) : 0;
+        this.attendanceCounterRepository.upsert(scope, scopeKey, shard, delta);
+    }
+
+    public AttendanceStatsDto getStats() {
+        Map<Long, Long> teachers = new TreeMap<>();
+        Map<String, Long> weeks = new TreeMap<>();
+        Map<Long, Long> sessions = new TreeMap<>();
+
+        for (AttendanceCounter counter : this.attendanceCounterRepository.findAll()) {
+            switch (counter.getScope()) {
+                case TEACHER:
+                    teachers.merge(counter.getScopeKey(), counter.getParticipants(), Long::sum);
+                    break;
+                case WEEK:
+                    weeks.merge(weekLabel(counter.getScopeKey()), counter.getParticipants(), Long::sum);
+                    break;
+                case SESSION:
+                    sessions.merge(counter.getScopeKey(), counter.getParticipants(), Long::sum);
+                    break;
+            }
+        }
+
+        return new AttendanceStatsDto(teachers, weeks, sessions);
+    }
+
+    public static long participantCount(Session session) {
+        return session.getUsers() == null ? 0 : session.getUsers().size();
+    }
+
+    public static Long weekKey(Date date) {
+        LocalDate day = Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+
+        return day.get(IsoFields.WEEK_BASED_YEAR) * 100L + day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+    }
+
+    public static String weekLabel(Long weekKey) {
+        return String.format("%d-W%02d", weekKey / 100, weekKey % 100);
+    }
+}
@@ -2,81 +2,206 @@ package com.openclassrooms.starterjwt.services;
 
 import com.openclassrooms.starterjwt.exception.BadRequestException;
 import com.openclassrooms.starterjwt.exception.NotFoundException;
+import com.openclassrooms.starterjwt.jfr.ParticipationEvent;
+import com.openclassrooms.starterjwt.metrics.MetricsConfig;
 import com.openclassrooms.starterjwt.models.Session;
 import com.openclassrooms.starterjwt.models.User;
 import com.openclassrooms.starterjwt.repository.SessionRepository;
 import com.openclassrooms.starterjwt.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Transactional(readOnly = true)
 public class SessionService {
     private final SessionRepository sessionRepository;
 
     private final UserRepository userRepository;
 
-    public SessionService(SessionRepository sessionRepository, UserRepository userRepository) {
+    private final AttendanceStatsService attendanceStatsService;
+
+    @Value("${oc.app.export.fetchSize:500}")
+    private int exportFetchSize;
+
+    public SessionService(SessionRepository sessionRepository, UserRepository userRepository, AttendanceStatsService attendanceStatsService) {
         this.sessionRepository = sessionRepository;
         this.userRepository = userRepository;
+        this.attendanceStatsService = attendanceStatsService;
     }
 
+    @Transactional
+    @Timed(MetricsConfig.SERVICE_TIMER)
     public Session create(Session session) {
-        return this.sessionRepository.save(session);
+        Session created = this.sessionRepository.save(session);
+
+        this.attendanceStatsService.record(created, AttendanceStatsService.participantCount(created));
+        return created;
     }
 
+    @Transactional
+    @Timed(MetricsConfig.SERVICE_TIMER)
     public void delete(Long id) {
+        this.sessionRepository.findById(id)
+                .ifPresent(this.attendanceStatsService::remove);
+
         this.sessionRepository.deleteById(id);
     }
 
+    @Timed(MetricsConfig.SERVICE_TIMER)
     public List<Session> findAll() {
         return this.sessionRepository.findAll();
     }
 
+    /**
+     * Same as findAll(), with the participants loaded before the transaction ends
+     * (batch fetched, see hibernate.default_batch_fetch_size).
+     */
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public List<Session> findAllWithUsers() {
+        List<Session> sessions = this.sessionRepository.findAll();
+
+        sessions.forEach(session -> Hibernate.initialize(session.getUsers()));
+        return sessions;
+    }
+
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public List<Map<String, Object>> findAllProjected(Set<String> fields) {
+        return this.sessionRepository.findAllProjected(fields);
+    }
+
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public void exportAll(Consumer<Map<String, Object>> action) {
+        try (Stream<Map<String, Object>> sessions = this.sessionRepository.streamAllSummaries(this.exportFetchSize)) {
+            sessions.forEach(action);
+        }
+    }
+
+    @Timed(MetricsConfig.SERVICE_TIMER)
     public Session getById(Long id) {
         return this.sessionRepository.findById(id).orElse(null);
     }
 
-    public Session update(Long id, Session session) {
-        session.setId(id);
-        return this.sessionRepository.save(session);
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public Session getByIdWithUsers(Long id) {
+        Session session = this.getById(id);
+
+        if (session != null) {
+            Hibernate.initialize(session.getUsers());
+        }
+        return session;
     }
 
-    public void participate(Long id, Long userId) {
-        Session session = this.sessionRepository.findById(id).orElse(null);
-        if (session == null) {
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public List<User> getParticipants(Long id, Long cursor, int limit) {
+        if (!this.sessionRepository.existsById(id)) {
             throw new NotFoundException();
         }
-        
-        User user = this.userRepository.findById(userId).orElse(null);
-        if (user == null) {
+
+        return this.userRepository.findParticipants(id, cursor == null ? 0L : cursor, PageRequest.of(0, limit));
+    }
+
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public boolean isParticipating(Long id, Long userId) {
+        if (!this.sessionRepository.existsById(id)) {
             throw new NotFoundException();
         }
 
-        boolean alreadyParticipate = session.getUsers().stream().anyMatch(o -> o.getId().equals(userId));
-        if(alreadyParticipate) {
-            throw new BadRequestException();
+        return this.sessionRepository.countParticipant(id, userId) > 0;
+    }
+
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public Page<Session> findByTeacher(Long teacherId, LocalDate from, LocalDate to, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size, Sort.by("date", "id"));
+
+        if (to == null) {
+            return this.sessionRepository.findScheduleByTeacherId(teacherId, toDate(from), pageable);
         }
 
-        session.getUsers().add(user);
+        return this.sessionRepository.findScheduleByTeacherId(teacherId, toDate(from), toDate(to.plusDays(1)), pageable);
+    }
 
-        this.sessionRepository.save(session);
+    private static Date toDate(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
     }
 
-    public void noLongerParticipate(Long id, Long userId) {
-        Session session = this.sessionRepository.findById(id).orElse(null);
-        if (session == null) {
-            throw new NotFoundException();
-        }
+    @Transactional
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public Session update(Long id, Session session) {
+        this.sessionRepository.findById(id)
+                .ifPresent(previous -> this.attendanceStatsService.record(previous, -AttendanceStatsService.participantCount(previous)));
 
-        boolean alreadyParticipate = session.getUsers().stream().anyMatch(o -> o.getId().equals(userId));
-        if(!alreadyParticipate) {
-            throw new BadRequestException();
-        }
+        session.setId(id);
+        Session updated = this.sessionRepository.save(session);
 
-        session.setUsers(session.getUsers().stream().filter(user -> !user.getId().equals(userId)).collect(Collectors.toList()));
+        this.attendanceStatsService.record(updated, AttendanceStatsService.participantCount(updated));
+        return updated;
+    }
 
-        this.sessionRepository.save(session);
+    @Transactional
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public void participate(Long id, Long userId) {
+        ParticipationEvent event = new ParticipationEvent(id, userId, "participate");
+        event.begin();
+        try {
+            Session session = this.sessionRepository.findById(id).orElse(null);
+            if (session == null) {
+                throw new NotFoundException();
+            }
+
+            if (!this.userRepository.existsById(userId)) {
+                throw new NotFoundException();
+            }
+
+            if (this.sessionRepository.countParticipant(id, userId) > 0) {
+                throw new BadRequestException();
+            }
+
+            try {
+                this.sessionRepository.addParticipant(id, userId);
+            } catch (DataIntegrityViolationException e) {
+                throw new BadRequestException();
+            }
+
+            this.attendanceStatsService.record(session, 1);
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Transactional
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public void noLongerParticipate(Long id, Long userId) {
+        ParticipationEvent event = new ParticipationEvent(id, userId, "leave");
+        event.begin();
+        try {
+            Session session = this.sessionRepository.findById(id).orElse(null);
+            if (session == null) {
+                throw new NotFoundException();
+            }
+
+            if (this.sessionRepository.removeParticipant(id, userId) == 0) {
+                throw new BadRequestException();
+            }
+
+            this.attendanceStatsService.record(session, -1);
+        } finally {
+            event.commit();
+        }
     }
 }
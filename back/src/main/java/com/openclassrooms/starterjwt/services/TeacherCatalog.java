@@ -0,0 +1,168 @@
+package com.openclassrooms.starterjwt.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.starterjwt.dto.TeacherDto;
+import com.openclassrooms.starterjwt.mapper.TeacherMapper;
+import com.openclassrooms.starterjwt.repository.TeacherRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class TeacherCatalog {
+    private final TeacherRepository teacherRepository;
+    private final TeacherMapper teacherMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate primaryRead;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    // A lock rather than synchronized: a virtual thread waiting on the query inside a monitor pins its carrier
+    private final ReentrantLock reloading = new ReentrantLock();
+
+    public TeacherCatalog(TeacherRepository teacherRepository,
+                          TeacherMapper teacherMapper,
+                          ObjectMapper objectMapper,
+                          PlatformTransactionManager transactionManager) {
+        this.teacherRepository = teacherRepository;
+        this.teacherMapper = teacherMapper;
+        this.objectMapper = objectMapper;
+        // Read-write so the routing data source picks the primary: a snapshot rebuilt from
+        // a lagging replica after invalidate() would keep serving the old teachers until the next refresh
+        this.primaryRead = new TransactionTemplate(transactionManager);
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = this.snapshot.get();
+        if (current != null && current.generation == this.generation.get()) {
+            return current;
+        }
+
+        return this.reloadIfStale();
+    }
+
+    public boolean contains(Long id) {
+        return this.snapshot().findById(id) != null;
+    }
+
+    public void invalidate() {
+        this.generation.incrementAndGet();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${oc.app.teachers.refreshCron:0 */5 * * * *}")
+    public void reload() {
+        this.reloading.lock();
+        try {
+            long current = this.generation.get();
+            List<TeacherDto> teachers = this.primaryRead.execute(status -> this.teacherMapper.toDto(this.teacherRepository.findAll()));
+            this.snapshot.set(Snapshot.of(teachers, this.objectMapper, current));
+        } finally {
+            this.reloading.unlock();
+        }
+    }
+
+    private Snapshot reloadIfStale() {
+        this.reloading.lock();
+        try {
+            Snapshot current = this.snapshot.get();
+            if (current == null || current.generation != this.generation.get()) {
+                this.reload();
+            }
+
+            return this.snapshot.get();
+        } finally {
+            this.reloading.unlock();
+        }
+    }
+
+    public static final class Snapshot {
+        private final long generation;
+        private final Map<Long, byte[]> byId;
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+
+        private Snapshot(long generation, Map<Long, byte[]> byId, byte[] json) {
+            this.generation = generation;
+            this.byId = byId;
+            this.json = json;
+            this.gzip = gzip(json);
+            this.etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+        }
+
+        public static Snapshot of(List<TeacherDto> teachers, ObjectMapper objectMapper) {
+            return of(teachers, objectMapper, 0);
+        }
+
+        static Snapshot of(List<TeacherDto> teachers, ObjectMapper objectMapper, long generation) {
+            try {
+                Map<Long, byte[]> byId = new HashMap<>();
+                for (TeacherDto teacher : teachers) {
+                    byId.put(teacher.getId(), objectMapper.writeValueAsBytes(teacher));
+                }
+
+                return new Snapshot(generation, Collections.unmodifiableMap(byId), objectMapper.writeValueAsBytes(teachers));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unable to serialize the teacher catalog", e);
+            }
+        }
+
+        private static byte[] gzip(byte[] content) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 32);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(content);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+
+        public byte[] findById(Long id) {
+            return this.byId.get(id);
+        }
+
+        public byte[] getJson() {
+            return this.json;
+        }
+
+        public byte[] getGzip() {
+            return this.gzip;
+        }
+
+        public String getEtag() {
+            return this.etag;
+        }
+
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(this.etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
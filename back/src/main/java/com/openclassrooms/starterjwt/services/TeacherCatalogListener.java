@@ -0,0 +1,39 @@
+package com.openclassrooms.starterjwt.services;
+
+import com.openclassrooms.starterjwt.models.Teacher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+public class TeacherCatalogListener {
+    private final ObjectProvider<TeacherCatalog> teacherCatalog;
+
+    public TeacherCatalogListener(ObjectProvider<TeacherCatalog> teacherCatalog) {
+        this.teacherCatalog = teacherCatalog;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Teacher teacher) {
+        TeacherCatalog catalog = this.teacherCatalog.getIfAvailable();
+        if (catalog == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    catalog.invalidate();
+                }
+            });
+        } else {
+            catalog.invalidate();
+        }
+    }
+}
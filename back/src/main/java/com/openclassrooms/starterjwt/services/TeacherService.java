@@ -1,17 +1,23 @@
 package com.openclassrooms.starterjwt.services;
 
+import com.openclassrooms.starterjwt.exception.UnknownIdsException;
 import com.openclassrooms.starterjwt.models.Teacher;
 import com.openclassrooms.starterjwt.repository.TeacherRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 
 @Service
+@Transactional(readOnly = true)
 public class TeacherService {
     private final TeacherRepository teacherRepository;
+    private final TeacherCatalog teacherCatalog;
 
-    public TeacherService(TeacherRepository teacherRepository) {
+    public TeacherService(TeacherRepository teacherRepository, TeacherCatalog teacherCatalog) {
         this.teacherRepository = teacherRepository;
+        this.teacherCatalog = teacherCatalog;
     }
 
     public List<Teacher> findAll() {
@@ -21,4 +27,16 @@ public class TeacherService {
     public Teacher findById(Long id) {
         return this.teacherRepository.findById(id).orElse(null);
     }
+
+    public boolean exists(Long id) {
+        return this.teacherCatalog.contains(id) || this.teacherRepository.existsById(id);
+    }
+
+    public Teacher getReference(Long id) {
+        if (!this.exists(id)) {
+            throw new UnknownIdsException("teacher", Collections.singletonList(id));
+        }
+
+        return this.teacherRepository.getById(id);
+    }
 }
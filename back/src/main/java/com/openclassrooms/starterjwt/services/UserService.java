@@ -1,10 +1,19 @@
 package com.openclassrooms.starterjwt.services;
 
+import com.openclassrooms.starterjwt.metrics.MetricsConfig;
 import com.openclassrooms.starterjwt.models.User;
 import com.openclassrooms.starterjwt.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@Transactional(readOnly = true)
 public class UserService {
     private final UserRepository userRepository;
 
@@ -12,11 +21,24 @@ public class UserService {
         this.userRepository = userRepository;
     }
 
+    @Transactional
+    @Timed(MetricsConfig.SERVICE_TIMER)
     public void delete(Long id) {
         this.userRepository.deleteById(id);
     }
 
+    @Timed(MetricsConfig.SERVICE_TIMER)
     public User findById(Long id) {
         return this.userRepository.findById(id).orElse(null);
     }
+
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public List<User> findAllById(Collection<Long> ids) {
+        return this.userRepository.findAllById(ids);
+    }
+
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public Map<String, Object> findProjectedById(Long id, Set<String> fields) {
+        return this.userRepository.findProjectedById(id, fields).orElse(null);
+    }
 }
@@ -0,0 +1,57 @@
+package com.openclassrooms.starterjwt.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records the time from JVM start until the first application request has been served.
+ *
+ * Actuator requests (health probes, scrapes) do not count. Includes whatever a
+ * lazily initialized context still had to create for that first request; once it
+ * is recorded the filter is skipped.
+ */
+public class FirstRequestFilter extends OncePerRequestFilter {
+    public static final String METER = "application.first-request.time";
+
+    private static final Logger logger = LoggerFactory.getLogger(FirstRequestFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean served = new AtomicBoolean();
+
+    public FirstRequestFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return this.served.get() || request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (this.served.compareAndSet(false, true)) {
+                long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+                TimeGauge.builder(METER, () -> uptime, TimeUnit.MILLISECONDS)
+                        .description("Time from JVM start until the first request was served")
+                        .register(this.meterRegistry);
+                logger.info("First request {} {} served {} ms after JVM start", request.getMethod(), request.getRequestURI(), uptime);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.openclassrooms.starterjwt.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.starterjwt.mapper.SessionMapper;
+import com.openclassrooms.starterjwt.mapper.TeacherMapper;
+import com.openclassrooms.starterjwt.mapper.UserMapper;
+import com.openclassrooms.starterjwt.security.jwt.JwtUtils;
+import com.openclassrooms.starterjwt.services.AttendanceReconciliationService;
+import com.openclassrooms.starterjwt.services.TeacherCatalog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Startup measurements, the optional JIT warm-up and the beans that must stay eager
+ * in the fast-startup profile.
+ *
+ * With spring.main.lazy-initialization=true, a bean is only created when first used,
+ * so the scheduled jobs are excluded; oc.app.startup.exitAfterStartup=true stops the
+ * application once it is ready (after the warm-up, if enabled), for an AppCDS training run.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public FilterRegistrationBean<FirstRequestFilter> firstRequestFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<FirstRequestFilter> registration = new FilterRegistrationBean<>(new FirstRequestFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledJobsLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(TeacherCatalog.class, AttendanceReconciliationService.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "oc.app.startup", name = "exitAfterStartup", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> exitAfterStartup() {
+        return event -> System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "oc.app.warmUp", name = "enabled", havingValue = "true")
+    public WarmUpRunner warmUpRunner(JwtUtils jwtUtils,
+                                     SessionMapper sessionMapper,
+                                     UserMapper userMapper,
+                                     TeacherMapper teacherMapper,
+                                     ObjectMapper objectMapper,
+                                     PasswordEncoder passwordEncoder,
+                                     @Value("${oc.app.warmUp.duration:30s}") Duration duration,
+                                     @Value("${oc.app.warmUp.iterations:0}") int iterations) {
+        return new WarmUpRunner(jwtUtils, sessionMapper, userMapper, teacherMapper, objectMapper, passwordEncoder, duration, iterations);
+    }
+}
@@ -0,0 +1,191 @@
+package com.openclassrooms.starterjwt.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.starterjwt.dto.SessionDto;
+import com.openclassrooms.starterjwt.mapper.SessionMapper;
+import com.openclassrooms.starterjwt.mapper.TeacherMapper;
+import com.openclassrooms.starterjwt.mapper.UserMapper;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.payload.request.LoginRequest;
+import com.openclassrooms.starterjwt.payload.response.JwtResponse;
+import com.openclassrooms.starterjwt.security.jwt.JwtUtils;
+import com.openclassrooms.starterjwt.security.services.UserDetailsImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs the login, JWT, mapping and JSON code paths on synthetic data before the
+ * application reports ready.
+ *
+ * Spring Boot only moves the readiness state to ACCEPTING_TRAFFIC once every
+ * ApplicationRunner has returned, so the readiness probe stays OUT_OF_SERVICE
+ * while this runs. Nothing is read from or written to the database: login goes
+ * through the same DaoAuthenticationProvider and password encoder as
+ * AuthController, against an in-memory dummy user. Stops after the configured
+ * duration or iteration count, whichever comes first (0 iterations means no limit).
+ */
+public class WarmUpRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final String DUMMY_USER = "warm-up@yoga.local";
+    private static final int SESSIONS = 50;
+    private static final int PARTICIPANTS = 20;
+    private static final int LOGIN_EVERY = 16;
+
+    private final JwtUtils jwtUtils;
+    private final SessionMapper sessionMapper;
+    private final UserMapper userMapper;
+    private final TeacherMapper teacherMapper;
+    private final ObjectMapper objectMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final Duration duration;
+    private final int maxIterations;
+    private int iterations;
+
+    public WarmUpRunner(JwtUtils jwtUtils, SessionMapper sessionMapper, UserMapper userMapper, TeacherMapper teacherMapper,
+                        ObjectMapper objectMapper, PasswordEncoder passwordEncoder, Duration duration, int maxIterations) {
+        this.jwtUtils = jwtUtils;
+        this.sessionMapper = sessionMapper;
+        this.userMapper = userMapper;
+        this.teacherMapper = teacherMapper;
+        this.objectMapper = objectMapper;
+        this.passwordEncoder = passwordEncoder;
+        this.duration = duration;
+        this.maxIterations = maxIterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String password = UUID.randomUUID().toString();
+        AuthenticationProvider login = this.login(password);
+        List<Teacher> teachers = teachers();
+        List<User> users = users();
+        List<Session> sessions = sessions(teachers, users);
+
+        long started = System.nanoTime();
+        long deadline = started + this.duration.toNanos();
+        while (System.nanoTime() < deadline && (this.maxIterations <= 0 || this.iterations < this.maxIterations)) {
+            if (this.iterations % LOGIN_EVERY == 0) {
+                this.login(login, password);
+            }
+            this.serialize(sessions, users, teachers);
+            this.iterations++;
+        }
+
+        logger.info("JIT warm-up finished: {} iterations in {} ms", this.iterations, Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    public int getIterations() {
+        return this.iterations;
+    }
+
+    private AuthenticationProvider login(String password) {
+        UserDetailsImpl user = UserDetailsImpl.builder()
+                .id(0L)
+                .username(DUMMY_USER)
+                .firstName("Warm")
+                .lastName("Up")
+                .admin(false)
+                .password(this.passwordEncoder.encode(password))
+                .build();
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(username -> user);
+        provider.setPasswordEncoder(this.passwordEncoder);
+        return provider;
+    }
+
+    private void login(AuthenticationProvider login, String password) throws Exception {
+        LoginRequest request = this.objectMapper.readValue(
+                this.objectMapper.writeValueAsBytes(loginRequest(password)), LoginRequest.class);
+        Authentication authentication = login.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+        String token = this.jwtUtils.generateJwtToken(authentication);
+
+        if (!this.jwtUtils.validateJwtToken(token) || !DUMMY_USER.equals(this.jwtUtils.getUserNameFromJwtToken(token))) {
+            throw new IllegalStateException("Warm-up token was rejected");
+        }
+
+        UserDetailsImpl user = (UserDetailsImpl) authentication.getPrincipal();
+        this.objectMapper.writeValueAsBytes(new JwtResponse(token, user.getId(), user.getUsername(),
+                user.getFirstName(), user.getLastName(), user.getAdmin()));
+    }
+
+    private void serialize(List<Session> sessions, List<User> users, List<Teacher> teachers) throws Exception {
+        byte[] summaries = this.objectMapper.writeValueAsBytes(this.sessionMapper.toSummaryDto(sessions));
+        this.objectMapper.writeValueAsBytes(this.sessionMapper.toDto(sessions));
+        this.objectMapper.readValue(summaries, SessionDto[].class);
+        this.objectMapper.writeValueAsBytes(this.userMapper.toDto(users));
+        this.objectMapper.writeValueAsBytes(this.teacherMapper.toDto(teachers));
+    }
+
+    private static LoginRequest loginRequest(String password) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(DUMMY_USER);
+        request.setPassword(password);
+        return request;
+    }
+
+    private static List<Teacher> teachers() {
+        List<Teacher> teachers = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            teachers.add(new Teacher()
+                    .setId(id)
+                    .setFirstName("Prenom" + id)
+                    .setLastName("Nom" + id)
+                    .setCreatedAt(LocalDateTime.now())
+                    .setUpdatedAt(LocalDateTime.now()));
+        }
+        return teachers;
+    }
+
+    private static List<User> users() {
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= PARTICIPANTS; id++) {
+            users.add(User.builder()
+                    .id(id)
+                    .email("yogi" + id + "@yoga.local")
+                    .firstName("Prenom" + id)
+                    .lastName("Nom" + id)
+                    .password("")
+                    .admin(false)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+        return users;
+    }
+
+    private static List<Session> sessions(List<Teacher> teachers, List<User> users) {
+        List<Session> sessions = new ArrayList<>();
+        for (long id = 1; id <= SESSIONS; id++) {
+            sessions.add(new Session()
+                    .setId(id)
+                    .setName("Session " + id)
+                    .setDate(new Date())
+                    .setDescription("Session de yoga " + id)
+                    .setTeacher(teachers.get((int) (id % teachers.size())))
+                    .setUsers(new ArrayList<>(users))
+                    .setParticipantCount(users.size())
+                    .setCreatedAt(LocalDateTime.now())
+                    .setUpdatedAt(LocalDateTime.now()));
+        }
+        return sessions;
+    }
+}
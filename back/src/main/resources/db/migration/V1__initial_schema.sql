@@ -1,12 +1,9 @@
--- Schéma pour les tests d'intégration avec H2
--- Compatible avec la syntaxe H2
-
 CREATE TABLE TEACHERS (
   id INT PRIMARY KEY AUTO_INCREMENT,
   last_name VARCHAR(40),
   first_name VARCHAR(40),
   created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+  updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
 CREATE TABLE SESSIONS (
@@ -16,7 +13,7 @@ CREATE TABLE SESSIONS (
   date TIMESTAMP,
   teacher_id INT,
   created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+  updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
 CREATE TABLE USERS (
@@ -27,11 +24,11 @@ CREATE TABLE USERS (
   email VARCHAR(255),
   password VARCHAR(255),
   created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+  updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
 CREATE TABLE PARTICIPATE (
-  user_id INT, 
+  user_id INT,
   session_id INT
 );
 
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS ATTENDANCE_COUNTERS (
+  scope VARCHAR(16) NOT NULL,
+  scope_key BIGINT NOT NULL,
+  shard INT NOT NULL DEFAULT 0,
+  participants BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (scope, scope_key, shard)
+);
@@ -0,0 +1,24 @@
+-- PARTICIPATE: composite primary key (doublons supprimés) et index inverse par utilisateur
+CREATE TABLE PARTICIPATE_NEW (
+  session_id INT NOT NULL,
+  user_id INT NOT NULL,
+  PRIMARY KEY (session_id, user_id)
+);
+
+INSERT INTO PARTICIPATE_NEW (session_id, user_id)
+SELECT DISTINCT session_id, user_id FROM PARTICIPATE
+WHERE session_id IS NOT NULL AND user_id IS NOT NULL;
+
+DROP TABLE PARTICIPATE;
+ALTER TABLE PARTICIPATE_NEW RENAME TO PARTICIPATE;
+
+CREATE INDEX IDX_PARTICIPATE_USER ON PARTICIPATE (user_id);
+ALTER TABLE PARTICIPATE ADD CONSTRAINT FK_PARTICIPATE_SESSION FOREIGN KEY (session_id) REFERENCES SESSIONS (id);
+ALTER TABLE PARTICIPATE ADD CONSTRAINT FK_PARTICIPATE_USER FOREIGN KEY (user_id) REFERENCES USERS (id);
+
+-- USERS: connexion et recherche par email
+CREATE UNIQUE INDEX UK_USERS_EMAIL ON USERS (email);
+
+-- SESSIONS: planning par professeur et tri par date
+CREATE INDEX IDX_SESSIONS_TEACHER_DATE ON SESSIONS (teacher_id, date);
+CREATE INDEX IDX_SESSIONS_DATE ON SESSIONS (date);
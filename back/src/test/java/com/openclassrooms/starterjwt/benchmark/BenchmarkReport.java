@@ -0,0 +1,44 @@
+package com.openclassrooms.starterjwt.benchmark;
+
+import org.junit.jupiter.api.TestReporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Publication des résultats des benchmarks
+ *
+ * Chaque mesure est publiée comme entrée de rapport JUnit (IDE, console launcher)
+ * et ajoutée à target/benchmark-reports/<benchmark>.csv, que Surefire ne reprend
+ * pas dans ses rapports : une ligne par mesure, l'en-tête à la création du fichier.
+ */
+final class BenchmarkReport {
+
+    private static final Path DIRECTORY = Paths.get("target", "benchmark-reports");
+
+    private BenchmarkReport() {
+    }
+
+    static void publish(TestReporter reporter, String benchmark, Map<String, String> measurement) {
+        reporter.publishEntry(measurement);
+
+        Path file = DIRECTORY.resolve(benchmark + ".csv");
+        try {
+            Files.createDirectories(DIRECTORY);
+            if (!Files.exists(file)) {
+                Files.write(file, Collections.singletonList(String.join(",", measurement.keySet())), StandardCharsets.UTF_8);
+            }
+            Files.write(file, Collections.singletonList(String.join(",", measurement.values())), StandardCharsets.UTF_8,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.openclassrooms.starterjwt.benchmark;
+
+import com.openclassrooms.starterjwt.models.AttendanceCounter;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.repository.AttendanceCounterRepository;
+import com.openclassrooms.starterjwt.repository.SessionRepository;
+import com.openclassrooms.starterjwt.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.repository.UserRepository;
+import com.openclassrooms.starterjwt.services.AttendanceReconciliationService;
+import com.openclassrooms.starterjwt.services.AttendanceStatsService;
+import com.openclassrooms.starterjwt.services.SessionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de contention sur les compteurs de fréquentation d'une session populaire
+ *
+ * Des threads concurrents inscrivent puis désinscrivent chacun leur utilisateur à une
+ * même session pendant une durée fixe, par SessionService.participate() et
+ * noLongerParticipate() : ligne PARTICIPATE, compteurs SESSION, TEACHER et WEEK.
+ * Les compteurs sont supprimés avant chaque mesure, si bien que les premiers
+ * incréments concurrents créent les shards. Le débit (inscriptions par seconde)
+ * est publié pour 1 shard puis pour N shards (voir BenchmarkReport).
+ *
+ * Exclu du build par défaut : mvn test -Pbenchmark
+ * (les propriétés spring.datasource.* permettent de viser un MySQL réel)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("Compteurs de fréquentation - Benchmark de contention")
+class ParticipantCounterContentionBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final long DURATION_MS = 3000;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private AttendanceStatsService attendanceStatsService;
+
+    @Autowired
+    private AttendanceReconciliationService attendanceReconciliationService;
+
+    @Autowired
+    private AttendanceCounterRepository attendanceCounterRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    private Object configuredShards;
+    private Session session;
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        configuredShards = ReflectionTestUtils.getField(attendanceStatsService, "shards");
+
+        Teacher teacher = teacherRepository.save(new Teacher()
+                .setFirstName("Marie")
+                .setLastName("Dubois")
+                .setCreatedAt(LocalDateTime.now())
+                .setUpdatedAt(LocalDateTime.now()));
+        session = sessionRepository.save(new Session()
+                .setName("Session populaire")
+                .setDate(new Date())
+                .setDescription("Benchmark de contention")
+                .setTeacher(teacher)
+                .setUsers(new ArrayList<>()));
+
+        users = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            users.add(userRepository.save(new User("yogi" + i + "@studio.com", "Nom", "Prenom", "password", false)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(attendanceStatsService, "shards", configuredShards);
+        cleanUp();
+    }
+
+    @ParameterizedTest(name = "{0} shard(s)")
+    @ValueSource(ints = {1, 16})
+    @DisplayName("Inscriptions par seconde sur une session populaire")
+    void enrollmentsPerSecond(int shards, TestReporter reporter) throws Exception {
+        // Given - Compteurs absents : les premiers incréments concurrents les créent
+        ReflectionTestUtils.setField(attendanceStatsService, "shards", shards);
+        attendanceCounterRepository.deleteAll();
+
+        AtomicLong enrollments = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURATION_MS);
+
+        // When
+        List<Future<?>> workers = new ArrayList<>();
+        for (User user : users) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                while (System.nanoTime() < deadline) {
+                    sessionService.participate(session.getId(), user.getId());
+                    enrollments.incrementAndGet();
+                    sessionService.noLongerParticipate(session.getId(), user.getId());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertThat(sessionRepository.countParticipant(session.getId(), users.get(0).getId())).isZero();
+        assertThat(attendanceCounterRepository.findAll())
+                .filteredOn(counter -> counter.getScope() == AttendanceCounter.Scope.SESSION)
+                .hasSizeLessThanOrEqualTo(shards);
+        assertThat(attendanceReconciliationService.reconcile()).isZero();
+
+        Map<String, String> measurement = new LinkedHashMap<>();
+        measurement.put("shards", String.valueOf(shards));
+        measurement.put("threads", String.valueOf(THREADS));
+        measurement.put("enrollments", String.valueOf(enrollments.get()));
+        measurement.put("enrollmentsPerSecond", String.format(Locale.ROOT, "%.0f", enrollments.get() * 1000.0 / DURATION_MS));
+        BenchmarkReport.publish(reporter, "participant-counter-contention", measurement);
+    }
+
+    private void cleanUp() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+        attendanceCounterRepository.deleteAll();
+    }
+}
@@ -0,0 +1,173 @@
+package com.openclassrooms.starterjwt.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.openclassrooms.starterjwt.SpringBootSecurityJwtApplication;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.payload.request.LoginRequest;
+import com.openclassrooms.starterjwt.repository.SessionRepository;
+import com.openclassrooms.starterjwt.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Benchmark de charge des endpoints liés à la base : threads virtuels contre pool Tomcat
+ *
+ * L'application est démarrée sur un port aléatoire avec le pool de threads plateforme
+ * de Tomcat (200 threads), puis avec spring.threads.virtual.enabled=true, et des
+ * clients concurrents, plus nombreux que le pool, appellent GET /api/session et
+ * POST /api/auth/login pendant une durée fixe. Le débit et le 99e centile de latence
+ * sont publiés pour chaque mode (voir BenchmarkReport).
+ *
+ * Le mode virtuel n'est mesuré que sur un JDK 21+ (ignoré sinon), où l'on vérifie
+ * que Tomcat sert bien les requêtes sur des threads virtuels.
+ *
+ * Exclu du build par défaut : mvn test -Pbenchmark
+ * (les propriétés spring.datasource.* permettent de viser un MySQL réel, dont la
+ * latence réseau rend l'écart entre les deux modes visible)
+ */
+@Tag("benchmark")
+@DisplayName("Threads de requêtes - Benchmark de charge")
+class RequestThreadingLoadBenchmarkTest {
+
+    private static final int POOL_SIZE = 20;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int CLIENTS = 256;
+    private static final int SESSIONS = 20;
+    private static final long DURATION_MS = 3000;
+
+    private static final String PLATFORM = "platform";
+    private static final String VIRTUAL = "virtual";
+
+    @ParameterizedTest(name = "threads {0}")
+    @ValueSource(strings = {PLATFORM, VIRTUAL})
+    @DisplayName("Débit et latence des endpoints liés à la base")
+    void requestsPerSecond(String mode, TestReporter reporter) throws Exception {
+        // Given
+        boolean virtual = VIRTUAL.equals(mode);
+        assumeTrue(!virtual || Runtime.version().feature() >= 21, "Threads virtuels : JDK 21+ requis");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootSecurityJwtApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE)
+                .run();
+        try {
+            TomcatWebServer webServer = (TomcatWebServer) ((WebServerApplicationContext) context).getWebServer();
+            Executor executor = webServer.getTomcat().getConnector().getProtocolHandler().getExecutor();
+            assertThat(executor.getClass().getSimpleName().equals("VirtualThreadExecutor")).isEqualTo(virtual);
+            String baseUrl = "http://localhost:" + webServer.getPort();
+            RestTemplate restTemplate = new RestTemplate();
+            LoginRequest login = createData(context);
+            String token = restTemplate.postForObject(baseUrl + "/api/auth/login", login, JsonNode.class).get("token").asText();
+            HttpHeaders headers = new HttpHeaders();
+            headers.setBearerAuth(token);
+            HttpEntity<Void> authorized = new HttpEntity<>(headers);
+
+            // When & Then
+            run(reporter, mode, "GET /api/session", () -> restTemplate.exchange(baseUrl + "/api/session", HttpMethod.GET, authorized, String.class));
+            run(reporter, mode, "POST /api/auth/login", () -> restTemplate.postForEntity(baseUrl + "/api/auth/login", login, String.class));
+        } finally {
+            cleanUp(context);
+            context.close();
+        }
+    }
+
+    private static void run(TestReporter reporter, String mode, String endpoint, Supplier<ResponseEntity<String>> call) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURATION_MS);
+
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            workers.add(clients.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long started = System.nanoTime();
+                    assertThat(call.get().getStatusCodeValue()).isEqualTo(200);
+                    latencies.add(System.nanoTime() - started);
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        clients.shutdown();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        assertThat(sorted).isNotEmpty();
+        long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+
+        Map<String, String> measurement = new LinkedHashMap<>();
+        measurement.put("endpoint", endpoint);
+        measurement.put("threads", mode);
+        measurement.put("clients", String.valueOf(CLIENTS));
+        measurement.put("requestsPerSecond", String.format(Locale.ROOT, "%.0f", sorted.size() * 1000.0 / DURATION_MS));
+        measurement.put("p99Ms", String.format(Locale.ROOT, "%.1f", p99 / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+        BenchmarkReport.publish(reporter, "request-threading-load", measurement);
+    }
+
+    private static LoginRequest createData(ConfigurableApplicationContext context) {
+        cleanUp(context);
+        PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+        User user = context.getBean(UserRepository.class)
+                .save(new User("load@studio.com", "Charge", "Test", passwordEncoder.encode("password123"), false));
+
+        Teacher teacher = context.getBean(TeacherRepository.class).save(new Teacher()
+                .setFirstName("Marie")
+                .setLastName("Dubois")
+                .setCreatedAt(LocalDateTime.now())
+                .setUpdatedAt(LocalDateTime.now()));
+        SessionRepository sessionRepository = context.getBean(SessionRepository.class);
+        for (int i = 0; i < SESSIONS; i++) {
+            sessionRepository.save(new Session()
+                    .setName("Session " + i)
+                    .setDate(new Date())
+                    .setDescription("Description " + i)
+                    .setTeacher(teacher)
+                    .setUsers(new ArrayList<>(Collections.singletonList(user))));
+        }
+
+        LoginRequest login = new LoginRequest();
+        login.setEmail(user.getEmail());
+        login.setPassword("password123");
+        return login;
+    }
+
+    private static void cleanUp(ConfigurableApplicationContext context) {
+        context.getBean(SessionRepository.class).deleteAll();
+        context.getBean(UserRepository.class).deleteAll();
+        context.getBean(TeacherRepository.class).deleteAll();
+    }
+}
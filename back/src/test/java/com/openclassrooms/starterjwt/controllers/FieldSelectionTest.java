@@ -0,0 +1,61 @@
+package com.openclassrooms.starterjwt.controllers;
+
+/**
+ * Tests unitaires pour FieldSelection.
+ * 
+ * Cette classe teste l'analyse du paramètre ?fields= :
+ * - Acceptation des champs du DTO qui ont une colonne projetable
+ * - Refus (400) d'un champ du DTO sans colonne projetable
+ * - Refus (400) d'un champ inconnu ou d'une sélection vide
+ */
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.starterjwt.dto.UserDto;
+import com.openclassrooms.starterjwt.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FieldSelection Unit Tests")
+class FieldSelectionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Set<String> projectable = new HashSet<>(Arrays.asList("id", "email", "firstName"));
+
+    @Test
+    @DisplayName("Should keep the requested projectable fields in order")
+    void parse_ProjectableFields() {
+        // When
+        Set<String> selected = FieldSelection.parse(" email, id ,", UserDto.class, projectable, objectMapper);
+
+        // Then
+        assertThat(selected).containsExactly("email", "id");
+    }
+
+    @Test
+    @DisplayName("Should reject a DTO field that has no projectable column")
+    void parse_FieldWithoutColumn() {
+        // When & Then
+        assertThatThrownBy(() -> FieldSelection.parse("lastName", UserDto.class, projectable, objectMapper))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> FieldSelection.parse("id,lastName", UserDto.class, projectable, objectMapper))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields and empty selections")
+    void parse_UnknownOrEmpty() {
+        // When & Then
+        assertThatThrownBy(() -> FieldSelection.parse("password", UserDto.class, projectable, objectMapper))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> FieldSelection.parse(" , ", UserDto.class, projectable, objectMapper))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
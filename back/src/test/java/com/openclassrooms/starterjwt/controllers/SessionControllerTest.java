@@ -6,6 +6,7 @@ package com.openclassrooms.starterjwt.controllers;
  * Cette classe teste les endpoints de gestion des sessions de yoga :
  * - GET /api/session/{id} : Récupération d'une session par ID
  * - GET /api/session : Récupération de toutes les sessions
+ * - GET /api/session/export : Export en flux de toutes les sessions
  * - POST /api/session : Création d'une nouvelle session
  * - PUT /api/session/{id} : Mise à jour d'une session
  * - DELETE /api/session/{id} : Suppression d'une session
@@ -19,11 +20,21 @@ package com.openclassrooms.starterjwt.controllers;
  * - La conversion entre entités et DTOs via le mapper
  */
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.openclassrooms.starterjwt.dto.SessionDto;
+import com.openclassrooms.starterjwt.dto.ParticipantPageDto;
+import com.openclassrooms.starterjwt.dto.UserDto;
+import com.openclassrooms.starterjwt.exception.UnknownIdsException;
 import com.openclassrooms.starterjwt.mapper.SessionMapper;
+import com.openclassrooms.starterjwt.mapper.UserMapper;
 import com.openclassrooms.starterjwt.models.Session;
 import com.openclassrooms.starterjwt.models.Teacher;
 import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.payload.response.MessageResponse;
 import com.openclassrooms.starterjwt.services.SessionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -32,12 +43,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -54,6 +71,9 @@ class SessionControllerTest {
     @Mock
     private SessionMapper sessionMapper;
 
+    @Mock
+    private UserMapper userMapper;
+
     @InjectMocks
     private SessionController sessionController;
 
@@ -104,7 +124,7 @@ class SessionControllerTest {
         // Le service retourne la session mockée
         when(sessionService.getById(1L)).thenReturn(session);
         // Le mapper convertit l'entité en DTO
-        when(sessionMapper.toDto(session)).thenReturn(sessionDto);
+        when(sessionMapper.toSummaryDto(session)).thenReturn(sessionDto);
 
         // When - Appel de l'endpoint avec l'ID "1"
         ResponseEntity<?> response = sessionController.findById("1");
@@ -117,7 +137,7 @@ class SessionControllerTest {
         // Vérification que le service a été appelé avec le bon ID
         verify(sessionService, times(1)).getById(1L);
         // Vérification que le mapper a bien converti l'entité en DTO
-        verify(sessionMapper, times(1)).toDto(session);
+        verify(sessionMapper, times(1)).toSummaryDto(session);
     }
 
     @Test
@@ -136,7 +156,7 @@ class SessionControllerTest {
         // Vérification que le service a été interrogé
         verify(sessionService, times(1)).getById(1L);
         // Vérification que le mapper n'a pas été appelé (pas de session à convertir)
-        verify(sessionMapper, never()).toDto(any(Session.class));
+        verify(sessionMapper, never()).toSummaryDto(any(Session.class));
     }
 
     @Test
@@ -174,7 +194,7 @@ class SessionControllerTest {
         // Configuration du mock pour retourner la liste de sessions
         when(sessionService.findAll()).thenReturn(sessions);
         // Configuration du mapper pour convertir la liste d'entités en liste de DTOs
-        when(sessionMapper.toDto(sessions)).thenReturn(sessionDtos);
+        when(sessionMapper.toSummaryDto(sessions)).thenReturn(sessionDtos);
 
         // When - Récupération de toutes les sessions
         ResponseEntity<?> response = sessionController.findAll();
@@ -187,7 +207,30 @@ class SessionControllerTest {
         // Vérification que le service a été appelé une fois
         verify(sessionService, times(1)).findAll();
         // Vérification que le mapper a converti la liste
-        verify(sessionMapper, times(1)).toDto(sessions);
+        verify(sessionMapper, times(1)).toSummaryDto(sessions);
+    }
+
+    @Test
+    @DisplayName("Should stream the session export as a JSON array")
+    void export_WritesJsonArray() throws Exception {
+        // Given - Contrôleur avec un vrai ObjectMapper, le service fournit deux lignes
+        SessionController controller = new SessionController(sessionService, sessionMapper, new ObjectMapper(), userMapper);
+        doAnswer(invocation -> {
+            Consumer<Map<String, Object>> action = invocation.getArgument(0);
+            action.accept(Collections.singletonMap("id", 1));
+            action.accept(Collections.singletonMap("id", 2));
+            return null;
+        }).when(sessionService).exportAll(any());
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = controller.export();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(out.toString("UTF-8")).isEqualTo("[{\"id\":1},{\"id\":2}]");
+        verify(sessionService, never()).findAll();
     }
 
     @Test
@@ -217,6 +260,48 @@ class SessionControllerTest {
         verify(sessionMapper, times(1)).toDto(session);
     }
 
+    @Test
+    @DisplayName("Should log an ID-only summary of the created session")
+    void create_LogsIdOnlySummary() {
+        // Given - Le journal du contrôleur est capturé au niveau INFO
+        Logger logger = (Logger) LoggerFactory.getLogger(SessionController.class);
+        Level level = logger.getLevel();
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.INFO);
+        when(sessionMapper.toEntity(sessionDto)).thenReturn(session);
+        when(sessionService.create(session)).thenReturn(session);
+
+        try {
+            // When - Appel de création de session
+            sessionController.create(sessionDto);
+        } finally {
+            logger.detachAppender(appender);
+            logger.setLevel(level);
+        }
+
+        // Then - Seuls les identifiants et le nombre de participants sont journalisés
+        assertThat(appender.list).singleElement().satisfies(event -> assertThat(event.getFormattedMessage())
+                .isEqualTo("Session created sessionId=1 teacherId=1 participants=1")
+                .doesNotContain("password", "user@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should return bad request when the session references unknown ids")
+    void create_UnknownIds() {
+        // Given - Le mapper signale des utilisateurs inconnus
+        when(sessionMapper.toEntity(sessionDto)).thenThrow(new UnknownIdsException("user", Arrays.asList(42L)));
+
+        // When - Appel de création de session
+        ResponseEntity<?> response = sessionController.create(sessionDto);
+
+        // Then - La requête est rejetée avec les IDs inconnus et rien n'est créé
+        assertThat(response.getStatusCodeValue()).isEqualTo(400);
+        assertThat(((MessageResponse) response.getBody()).getMessage()).contains("42");
+        verify(sessionService, never()).create(any(Session.class));
+    }
+
     @Test
     @DisplayName("Should update session successfully")
     void update_Success() {
@@ -310,6 +395,31 @@ class SessionControllerTest {
         verify(sessionService, never()).delete(anyLong());
     }
 
+    @Test
+    @DisplayName("Should tell whether a user participates in a session")
+    void isParticipating_Success() {
+        // Given - L'utilisateur 2 participe à la session 1
+        when(sessionService.isParticipating(1L, 2L)).thenReturn(true);
+
+        // When - Vérification de la participation
+        ResponseEntity<?> response = sessionController.isParticipating("1", "2");
+
+        // Then - Vérification de la réponse
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("Should return bad request for invalid id format on isParticipating")
+    void isParticipating_InvalidIdFormat() {
+        // When - Vérification avec un ID de session invalide
+        ResponseEntity<?> response = sessionController.isParticipating("invalid", "2");
+
+        // Then - Vérification du rejet de la requête
+        assertThat(response.getStatusCodeValue()).isEqualTo(400);
+        verify(sessionService, never()).isParticipating(anyLong(), anyLong());
+    }
+
     @Test
     @DisplayName("Should participate in session successfully")
     void participate_Success() {
@@ -403,4 +513,83 @@ class SessionControllerTest {
         // Vérification que le service n'a jamais été appelé
         verify(sessionService, never()).noLongerParticipate(anyLong(), anyLong());
     }
+
+    @Test
+    @DisplayName("Should embed participant ids only when requested")
+    void findByIdWithUsers_Success() {
+        // Given - Le client demande explicitement ?embed=users
+        when(sessionService.getByIdWithUsers(1L)).thenReturn(session);
+        when(sessionMapper.toDto(session)).thenReturn(sessionDto);
+
+        // When
+        ResponseEntity<?> response = sessionController.findByIdWithUsers("1");
+
+        // Then - Le DTO complet (avec users) est retourné
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(sessionDto);
+        verify(sessionMapper, never()).toSummaryDto(any(Session.class));
+    }
+
+    @Test
+    @DisplayName("Should find all sessions with embedded participants when requested")
+    void findAllWithUsers_Success() {
+        // Given
+        List<Session> sessions = Arrays.asList(session);
+        List<SessionDto> sessionDtos = Arrays.asList(sessionDto);
+        when(sessionService.findAllWithUsers()).thenReturn(sessions);
+        when(sessionMapper.toDto(sessions)).thenReturn(sessionDtos);
+
+        // When
+        ResponseEntity<?> response = sessionController.findAllWithUsers();
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(sessionDtos);
+    }
+
+    @Test
+    @DisplayName("Should page participants and return the next cursor")
+    void findParticipants_Success() {
+        // Given - Une page de taille 1 alors que 2 participants suivent le curseur
+        User user2 = User.builder().id(2L).email("user2@example.com").firstName("John")
+                .lastName("Doe").password("password").admin(false).build();
+        List<UserDto> userDtos = Arrays.asList(new UserDto());
+        when(sessionService.getParticipants(1L, null, 2)).thenReturn(Arrays.asList(user, user2));
+        when(userMapper.toDto(Arrays.asList(user))).thenReturn(userDtos);
+
+        // When
+        ResponseEntity<?> response = sessionController.findParticipants("1", null, "1");
+
+        // Then - Le curseur suivant est l'ID du dernier participant retourné
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        ParticipantPageDto page = (ParticipantPageDto) response.getBody();
+        assertThat(page.getParticipants()).isEqualTo(userDtos);
+        assertThat(page.getNextCursor()).isEqualTo(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should return no cursor on the last page of participants")
+    void findParticipants_LastPage() {
+        // Given
+        when(sessionService.getParticipants(1L, 1L, 51)).thenReturn(Arrays.asList(user));
+        when(userMapper.toDto(Arrays.asList(user))).thenReturn(Arrays.asList(new UserDto()));
+
+        // When
+        ResponseEntity<?> response = sessionController.findParticipants("1", "1", "50");
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(((ParticipantPageDto) response.getBody()).getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return bad request for invalid participants cursor")
+    void findParticipants_InvalidCursor() {
+        // When
+        ResponseEntity<?> response = sessionController.findParticipants("1", "invalid", "50");
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(400);
+        verify(sessionService, never()).getParticipants(anyLong(), anyLong(), anyInt());
+    }
 }
@@ -0,0 +1,54 @@
+package com.openclassrooms.starterjwt.controllers;
+
+/**
+ * Tests unitaires pour StatsController.
+ * 
+ * Cette classe teste l'endpoint GET /api/stats/attendance :
+ * - Retour des statistiques servies par les compteurs de fréquentation
+ */
+
+import com.openclassrooms.starterjwt.dto.AttendanceStatsDto;
+import com.openclassrooms.starterjwt.services.AttendanceStatsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatsController Unit Tests")
+class StatsControllerTest {
+
+    @Mock
+    private AttendanceStatsService attendanceStatsService;
+
+    @InjectMocks
+    private StatsController statsController;
+
+    @Test
+    @DisplayName("Should return attendance stats")
+    void attendance_Success() {
+        // Given
+        AttendanceStatsDto stats = new AttendanceStatsDto(
+                Collections.singletonMap(1L, 4L),
+                Collections.singletonMap("2026-W42", 4L),
+                Collections.singletonMap(2L, 4L));
+        when(attendanceStatsService.getStats()).thenReturn(stats);
+
+        // When
+        ResponseEntity<?> response = statsController.attendance();
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(stats);
+        verify(attendanceStatsService, times(1)).getStats();
+    }
+}
@@ -1,8 +1,14 @@
 package com.openclassrooms.starterjwt.controllers;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.starterjwt.dto.SessionDto;
+import com.openclassrooms.starterjwt.dto.SessionPageDto;
 import com.openclassrooms.starterjwt.dto.TeacherDto;
-import com.openclassrooms.starterjwt.mapper.TeacherMapper;
-import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.mapper.SessionMapper;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.services.SessionService;
+import com.openclassrooms.starterjwt.services.TeacherCatalog;
 import com.openclassrooms.starterjwt.services.TeacherService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,15 +17,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -29,290 +44,252 @@ import static org.mockito.Mockito.*;
  * - Récupération de la liste complète des professeurs
  * - Récupération d'un professeur par ID
  * - Gestion des erreurs (404, 400)
+ * - Réponses pré-sérialisées (ETag, variante gzip)
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("TeacherController - Tests d'intégration")
 class TeacherControllerTest {
 
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private TeacherCatalog teacherCatalog;
+
     @Mock
     private TeacherService teacherService;
 
     @Mock
-    private TeacherMapper teacherMapper;
+    private SessionService sessionService;
+
+    @Mock
+    private SessionMapper sessionMapper;
 
     @InjectMocks
     private TeacherController teacherController;
 
-    private Teacher mockTeacher1;
-    private Teacher mockTeacher2;
-    private TeacherDto mockTeacherDto1;
-    private TeacherDto mockTeacherDto2;
-    private List<Teacher> mockTeachers;
-    private List<TeacherDto> mockTeacherDtos;
+    private TeacherCatalog.Snapshot snapshot;
 
     @BeforeEach
     void setUp() {
-        // Création des teachers mock
-        mockTeacher1 = new Teacher();
-        mockTeacher1.setId(1L);
-        mockTeacher1.setFirstName("Marie");
-        mockTeacher1.setLastName("Dubois");
-        mockTeacher1.setCreatedAt(LocalDateTime.now());
-        mockTeacher1.setUpdatedAt(LocalDateTime.now());
-
-        mockTeacher2 = new Teacher();
-        mockTeacher2.setId(2L);
-        mockTeacher2.setFirstName("Pierre");
-        mockTeacher2.setLastName("Martin");
-        mockTeacher2.setCreatedAt(LocalDateTime.now());
-        mockTeacher2.setUpdatedAt(LocalDateTime.now());
-
-        mockTeachers = Arrays.asList(mockTeacher1, mockTeacher2);
-
-        // Création des DTOs mock
-        mockTeacherDto1 = new TeacherDto();
+        // Création des DTOs du catalogue
+        TeacherDto mockTeacherDto1 = new TeacherDto();
         mockTeacherDto1.setId(1L);
         mockTeacherDto1.setFirstName("Marie");
         mockTeacherDto1.setLastName("Dubois");
+        mockTeacherDto1.setCreatedAt(LocalDateTime.now());
+        mockTeacherDto1.setUpdatedAt(LocalDateTime.now());
 
-        mockTeacherDto2 = new TeacherDto();
+        TeacherDto mockTeacherDto2 = new TeacherDto();
         mockTeacherDto2.setId(2L);
         mockTeacherDto2.setFirstName("Pierre");
         mockTeacherDto2.setLastName("Martin");
 
-        mockTeacherDtos = Arrays.asList(mockTeacherDto1, mockTeacherDto2);
+        // Le snapshot pré-sérialise la liste et chaque professeur
+        snapshot = TeacherCatalog.Snapshot.of(Arrays.asList(mockTeacherDto1, mockTeacherDto2), objectMapper);
+    }
+
+    private JsonNode json(ResponseEntity<?> response) throws IOException {
+        return objectMapper.readTree((byte[]) response.getBody());
     }
 
     @Test
     @DisplayName("GET /api/teacher/{id} - Devrait retourner le professeur avec succès")
-    void findById_ShouldReturnTeacher_WhenTeacherExists() {
-        // Arrange - Configuration du mock pour retourner un professeur existant
-        // Le service retourne le professeur mocké
-        when(teacherService.findById(1L)).thenReturn(mockTeacher1);
-        // Le mapper convertit l'entité en DTO
-        when(teacherMapper.toDto(mockTeacher1)).thenReturn(mockTeacherDto1);
+    void findById_ShouldReturnTeacher_WhenTeacherExists() throws IOException {
+        // Arrange - Le catalogue contient le professeur
+        when(teacherCatalog.snapshot()).thenReturn(snapshot);
 
         // Act - Appel de l'endpoint avec l'ID "1"
         ResponseEntity<?> response = teacherController.findById("1");
 
         // Assert - Vérification de la réponse
-        // Vérification du code statut HTTP 200 OK
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        // Vérification que le corps de la réponse n'est pas null
         assertNotNull(response.getBody());
-        // Vérification que le DTO retourné correspond au DTO attendu
-        assertEquals(mockTeacherDto1, response.getBody());
-        // Vérification que le service a été appelé avec le bon ID
-        verify(teacherService, times(1)).findById(1L);
-        // Vérification que le mapper a converti l'entité en DTO
-        verify(teacherMapper, times(1)).toDto(mockTeacher1);
+        // Vérification du contenu sérialisé
+        JsonNode teacher = json(response);
+        assertEquals(1L, teacher.get("id").asLong());
+        assertEquals("Marie", teacher.get("firstName").asText());
+        assertEquals("Dubois", teacher.get("lastName").asText());
+        assertTrue(teacher.has("createdAt"));
     }
 
     @Test
     @DisplayName("GET /api/teacher/{id} - Devrait retourner 404 si professeur inexistant")
     void findById_ShouldReturn404_WhenTeacherNotFound() {
-        // Arrange - Configuration pour simuler un professeur inexistant
-        // Le service retourne null car le professeur n'existe pas
-        when(teacherService.findById(999L)).thenReturn(null);
+        // Arrange - Le catalogue ne connaît pas l'ID
+        when(teacherCatalog.snapshot()).thenReturn(snapshot);
 
         // Act - Tentative de récupération d'un professeur inexistant
         ResponseEntity<?> response = teacherController.findById("999");
 
-        // Assert - Vérification de la réponse d'erreur
-        // Vérification du code statut HTTP 404 Not Found
+        // Assert - Vérification du code statut HTTP 404 Not Found
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        // Vérification que le service a été interrogé
-        verify(teacherService, times(1)).findById(999L);
-        // Vérification que le mapper n'a pas été appelé (pas de professeur à convertir)
-        verify(teacherMapper, never()).toDto(any(Teacher.class));
     }
 
     @Test
     @DisplayName("GET /api/teacher/{id} - Devrait retourner 400 pour ID invalide")
     void findById_ShouldReturn400_WhenIdIsInvalid() {
         // Arrange - Pas de configuration nécessaire, on teste la validation de l'ID
-        
+
         // Act - Appel avec un ID au format invalide (non numérique)
         ResponseEntity<?> response = teacherController.findById("invalid");
 
         // Assert - Vérification du rejet de la requête
-        // Vérification du code statut HTTP 400 Bad Request
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        // Vérification que le service n'a jamais été appelé (validation échouée avant)
-        verify(teacherService, never()).findById(anyLong());
     }
 
     @Test
-    @DisplayName("GET /api/teacher/{id} - Devrait gérer les IDs négatifs")
-    void findById_ShouldHandleNegativeId() {
-        // Arrange - Configuration pour tester un ID négatif
-        // Le service retourne null pour un ID négatif
-        when(teacherService.findById(-1L)).thenReturn(null);
-
-        // Act - Appel avec un ID négatif
-        ResponseEntity<?> response = teacherController.findById("-1");
-
-        // Assert - Vérification que l'ID négatif est traité comme inexistant
-        // Vérification du code statut HTTP 404 Not Found
-        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        // Vérification que le service a été appelé avec l'ID négatif
-        verify(teacherService, times(1)).findById(-1L);
+    @DisplayName("GET /api/teacher/{id} - Devrait gérer les IDs négatifs, 0 et avec espaces")
+    void findById_ShouldHandleEdgeCaseIds() {
+        // Arrange
+        when(teacherCatalog.snapshot()).thenReturn(snapshot);
+
+        // Act & Assert - Les IDs négatifs ou nuls sont inexistants, les espaces sont refusés
+        assertEquals(HttpStatus.NOT_FOUND, teacherController.findById("-1").getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, teacherController.findById("0").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, teacherController.findById(" 1 ").getStatusCode());
     }
 
     @Test
-    @DisplayName("GET /api/teacher/{id} - Devrait retourner les informations complètes du professeur")
-    void findById_ShouldReturnCompleteTeacherInfo() {
-        // Arrange - Configuration pour vérifier le contenu du DTO retourné
-        // Le service retourne le professeur complet
-        when(teacherService.findById(1L)).thenReturn(mockTeacher1);
-        // Le mapper convertit avec toutes les propriétés
-        when(teacherMapper.toDto(mockTeacher1)).thenReturn(mockTeacherDto1);
-
-        // Act - Récupération du professeur
-        ResponseEntity<?> response = teacherController.findById("1");
+    @DisplayName("GET /api/teacher - Devrait retourner tous les professeurs avec un ETag")
+    void findAll_ShouldReturnAllTeachers() throws IOException {
+        // Arrange
+        when(teacherCatalog.snapshot()).thenReturn(snapshot);
+
+        // Act - Récupération de tous les professeurs
+        ResponseEntity<?> response = teacherController.findAll(null, null);
 
-        // Assert - Vérification détaillée du contenu
-        // Vérification du code statut HTTP 200 OK
+        // Assert - Le tableau pré-sérialisé est servi tel quel
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        // Cast du corps de la réponse en TeacherDto
-        TeacherDto returnedDto = (TeacherDto) response.getBody();
-        assertNotNull(returnedDto);
-        // Vérification de l'ID du professeur
-        assertEquals(1L, returnedDto.getId());
-        // Vérification du prénom
-        assertEquals("Marie", returnedDto.getFirstName());
-        // Vérification du nom de famille
-        assertEquals("Dubois", returnedDto.getLastName());
+        assertSame(snapshot.getJson(), response.getBody());
+        assertEquals(snapshot.getEtag(), response.getHeaders().getETag());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        JsonNode teachers = json(response);
+        assertEquals(2, teachers.size());
+        assertEquals("Marie", teachers.get(0).get("firstName").asText());
+        assertEquals("Martin", teachers.get(1).get("lastName").asText());
     }
 
     @Test
-    @DisplayName("GET /api/teacher - Devrait retourner tous les professeurs")
-    void findAll_ShouldReturnAllTeachers() {
-        // Arrange - Configuration pour retourner plusieurs professeurs
-        // Le service retourne la liste de professeurs mockée
-        when(teacherService.findAll()).thenReturn(mockTeachers);
-        // Le mapper convertit la liste d'entités en liste de DTOs
-        when(teacherMapper.toDto(mockTeachers)).thenReturn(mockTeacherDtos);
+    @DisplayName("GET /api/teacher - Devrait retourner une liste vide si aucun professeur")
+    void findAll_ShouldReturnEmptyList_WhenNoTeachers() throws IOException {
+        // Arrange - Catalogue vide
+        when(teacherCatalog.snapshot()).thenReturn(TeacherCatalog.Snapshot.of(Collections.emptyList(), objectMapper));
 
-        // Act - Récupération de tous les professeurs
-        ResponseEntity<?> response = teacherController.findAll();
+        // Act
+        ResponseEntity<?> response = teacherController.findAll(null, null);
 
-        // Assert - Vérification de la réponse
-        // Vérification du code statut HTTP 200 OK
+        // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        // Vérification que le corps de la réponse n'est pas null
-        assertNotNull(response.getBody());
-        // Vérification que la liste retournée correspond aux DTOs attendus
-        assertEquals(mockTeacherDtos, response.getBody());
-        // Vérification que le service a été appelé une fois
-        verify(teacherService, times(1)).findAll();
-        // Vérification que le mapper a converti la liste
-        verify(teacherMapper, times(1)).toDto(mockTeachers);
+        assertEquals(0, json(response).size());
     }
 
     @Test
-    @DisplayName("GET /api/teacher - Devrait retourner une liste vide si aucun professeur")
-    void findAll_ShouldReturnEmptyList_WhenNoTeachers() {
-        // Arrange - Configuration pour simuler l'absence de professeurs
-        // Le service retourne une liste vide
-        when(teacherService.findAll()).thenReturn(Arrays.asList());
-        // Le mapper retourne également une liste vide
-        when(teacherMapper.toDto(Arrays.asList())).thenReturn(Arrays.asList());
-
-        // Act - Récupération de tous les professeurs (aucun n'existe)
-        ResponseEntity<?> response = teacherController.findAll();
-
-        // Assert - Vérification de la liste vide
-        // Vérification du code statut HTTP 200 OK (pas d'erreur, juste vide)
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        // Cast de la réponse en liste de TeacherDto
-        @SuppressWarnings("unchecked")
-        List<TeacherDto> result = (List<TeacherDto>) response.getBody();
-        assertNotNull(result);
-        // Vérification que la liste est bien vide
-        assertTrue(result.isEmpty());
-        // Vérification que le service a été interrogé
-        verify(teacherService, times(1)).findAll();
+    @DisplayName("GET /api/teacher - Devrait servir la variante gzip si le client l'accepte")
+    void findAll_ShouldReturnGzip_WhenAccepted() throws IOException {
+        // Arrange
+        when(teacherCatalog.snapshot()).thenReturn(snapshot);
+
+        // Act
+        ResponseEntity<?> response = teacherController.findAll(null, "deflate, gzip;q=0.8");
+
+        // Assert - Le corps compressé se décompresse vers le JSON pré-sérialisé
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream((byte[]) response.getBody()))) {
+            assertArrayEquals(snapshot.getJson(), StreamUtils.copyToByteArray(in));
+        }
     }
 
     @Test
-    @DisplayName("GET /api/teacher - Devrait retourner le bon nombre de professeurs")
-    void findAll_ShouldReturnCorrectNumberOfTeachers() {
-        // Arrange - Configuration pour vérifier le nombre de professeurs retournés
-        // Le service retourne 2 professeurs
-        when(teacherService.findAll()).thenReturn(mockTeachers);
-        // Le mapper convertit les 2 professeurs en DTOs
-        when(teacherMapper.toDto(mockTeachers)).thenReturn(mockTeacherDtos);
+    @DisplayName("GET /api/teacher - Devrait ignorer gzip avec q=0")
+    void findAll_ShouldNotReturnGzip_WhenRefused() {
+        // Arrange
+        when(teacherCatalog.snapshot()).thenReturn(snapshot);
 
-        // Act - Récupération de tous les professeurs
-        ResponseEntity<?> response = teacherController.findAll();
+        // Act
+        ResponseEntity<?> response = teacherController.findAll(null, "gzip;q=0");
 
-        // Assert - Vérification du nombre d'éléments
-        // Vérification du code statut HTTP 200 OK
+        // Assert
+        assertSame(snapshot.getJson(), response.getBody());
+    }
+
+    @Test
+    @DisplayName("GET /api/teacher - Devrait retourner 304 si l'ETag correspond")
+    void findAll_ShouldReturn304_WhenEtagMatches() {
+        // Arrange
+        when(teacherCatalog.snapshot()).thenReturn(snapshot);
+
+        // Act - Requête conditionnelle (ETag faible accepté)
+        ResponseEntity<?> response = teacherController.findAll("\"other\", W/" + snapshot.getEtag(), "gzip");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(snapshot.getEtag(), response.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("GET /api/teacher/{id}/sessions - Devrait retourner une page du planning")
+    void findSessions_ShouldReturnPage() {
+        // Arrange - Une séance sur deux au total
+        Session session = new Session();
+        List<Session> sessions = Collections.singletonList(session);
+        List<SessionDto> dtos = Collections.singletonList(new SessionDto());
+        when(teacherService.exists(1L)).thenReturn(true);
+        when(sessionService.findByTeacher(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 1, 1))
+                .thenReturn(new PageImpl<>(sessions, PageRequest.of(1, 1), 2));
+        when(sessionMapper.toSummaryDto(sessions)).thenReturn(dtos);
+
+        // Act
+        ResponseEntity<?> response = teacherController.findSessions("1", "2024-01-01", "2024-01-31", "1", "1");
+
+        // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        // Cast de la réponse en liste
-        @SuppressWarnings("unchecked")
-        List<TeacherDto> result = (List<TeacherDto>) response.getBody();
-        assertNotNull(result);
-        // Vérification que la liste contient bien 2 professeurs
-        assertEquals(2, result.size());
+        SessionPageDto page = (SessionPageDto) response.getBody();
+        assertNotNull(page);
+        assertSame(dtos, page.getSessions());
+        assertEquals(1, page.getPage());
+        assertEquals(1, page.getSize());
+        assertEquals(2L, page.getTotalElements());
     }
 
     @Test
-    @DisplayName("GET /api/teacher - Devrait mapper tous les professeurs correctement")
-    void findAll_ShouldMapAllTeachersCorrectly() {
-        // Arrange - Configuration pour vérifier le mapping détaillé
-        // Le service retourne la liste complète
-        when(teacherService.findAll()).thenReturn(mockTeachers);
-        // Le mapper convertit chaque professeur avec ses données
-        when(teacherMapper.toDto(mockTeachers)).thenReturn(mockTeacherDtos);
-
-        // Act - Récupération et mapping des professeurs
-        ResponseEntity<?> response = teacherController.findAll();
-
-        // Assert - Vérification détaillée du contenu de chaque DTO
-        // Cast de la réponse en liste
-        @SuppressWarnings("unchecked")
-        List<TeacherDto> result = (List<TeacherDto>) response.getBody();
-        assertNotNull(result);
-        // Vérification des données du premier professeur
-        assertEquals("Marie", result.get(0).getFirstName());
-        assertEquals("Dubois", result.get(0).getLastName());
-        // Vérification des données du deuxième professeur
-        assertEquals("Pierre", result.get(1).getFirstName());
-        assertEquals("Martin", result.get(1).getLastName());
+    @DisplayName("GET /api/teacher/{id}/sessions - Devrait partir d'aujourd'hui et plafonner la taille de page")
+    void findSessions_ShouldUseDefaults() {
+        // Arrange
+        when(teacherService.exists(1L)).thenReturn(true);
+        when(sessionService.findByTeacher(anyLong(), any(LocalDate.class), isNull(), anyInt(), anyInt()))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+
+        // Act
+        teacherController.findSessions("1", null, null, "0", "10000");
+
+        // Assert
+        verify(sessionService).findByTeacher(1L, LocalDate.now(), null, 0, 100);
     }
 
     @Test
-    @DisplayName("GET /api/teacher/{id} - Devrait gérer ID = 0")
-    void findById_ShouldHandleZeroId() {
-        // Arrange - Configuration pour tester l'ID 0
-        // Le service retourne null pour l'ID 0
-        when(teacherService.findById(0L)).thenReturn(null);
+    @DisplayName("GET /api/teacher/{id}/sessions - Devrait retourner 404 si professeur inexistant")
+    void findSessions_ShouldReturn404_WhenTeacherNotFound() {
+        // Arrange
+        when(teacherService.exists(999L)).thenReturn(false);
 
-        // Act - Appel avec l'ID 0
-        ResponseEntity<?> response = teacherController.findById("0");
+        // Act
+        ResponseEntity<?> response = teacherController.findSessions("999", null, null, "0", "20");
 
-        // Assert - Vérification que l'ID 0 est traité comme inexistant
-        // Vérification du code statut HTTP 404 Not Found
+        // Assert
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        // Vérification que le service a été appelé avec 0L
-        verify(teacherService, times(1)).findById(0L);
+        verify(sessionService, never()).findByTeacher(anyLong(), any(), any(), anyInt(), anyInt());
     }
 
     @Test
-    @DisplayName("GET /api/teacher/{id} - Devrait gérer les ID avec espaces")
-    void findById_ShouldHandleIdWithSpaces() {
-        // Arrange - Pas de configuration nécessaire, on teste la validation
-        
-        // Act - Appel avec un ID contenant des espaces
-        ResponseEntity<?> response = teacherController.findById(" 1 ");
-
-        // Assert - Vérification du rejet de l'ID mal formaté
-        // NumberFormatException attendue pour " 1 " (espaces autour)
-        // Vérification du code statut HTTP 400 Bad Request
-        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        // Vérification que le service n'a jamais été appelé
-        verify(teacherService, never()).findById(anyLong());
+    @DisplayName("GET /api/teacher/{id}/sessions - Devrait retourner 400 pour des paramètres invalides")
+    void findSessions_ShouldReturn400_WhenParametersAreInvalid() {
+        // Act & Assert - ID, date, page et plage invalides
+        assertEquals(HttpStatus.BAD_REQUEST, teacherController.findSessions("abc", null, null, "0", "20").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, teacherController.findSessions("1", "01/01/2024", null, "0", "20").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, teacherController.findSessions("1", null, null, "-1", "20").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, teacherController.findSessions("1", "2024-02-01", "2024-01-01", "0", "20").getStatusCode());
+        verify(sessionService, never()).findByTeacher(anyLong(), any(), any(), anyInt(), anyInt());
     }
 }
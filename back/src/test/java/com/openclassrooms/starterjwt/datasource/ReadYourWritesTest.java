@@ -0,0 +1,116 @@
+package com.openclassrooms.starterjwt.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.Cookie;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ReadYourWrites
+ *
+ * JUSTIFICATION : après une écriture, les lectures d'un client restent sur la base primaire
+ * - Uniquement pour le client qui a écrit (cookie renvoyé avec ses requêtes suivantes)
+ * - Quelle que soit l'instance qui reçoit la requête suivante
+ * - Uniquement pendant la fenêtre configurée
+ */
+@DisplayName("ReadYourWrites - Tests unitaires")
+class ReadYourWritesTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    private ReadYourWrites readYourWrites;
+
+    @BeforeEach
+    void setUp() {
+        readYourWrites = new ReadYourWrites(5_000L, now::get);
+    }
+
+    @Test
+    @DisplayName("Une écriture épingle la suite de la requête et pose le cookie")
+    void recordWrite_PinsRequestAndSetsCookie() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        readYourWrites.recordWrite(request, response);
+
+        // Assert
+        assertTrue(readYourWrites.isPinned(request));
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertNotNull(cookie);
+        assertTrue(cookie.startsWith(ReadYourWrites.COOKIE + "=1000000;"));
+        assertTrue(cookie.contains("HttpOnly"));
+        assertTrue(cookie.contains("Max-Age=6"));
+    }
+
+    @Test
+    @DisplayName("Le cookie épingle les requêtes suivantes, sur n'importe quelle instance")
+    void isPinned_WithCookie_OnAnotherInstance() {
+        // Arrange
+        ReadYourWrites otherInstance = new ReadYourWrites(5_000L, now::get);
+        MockHttpServletRequest next = new MockHttpServletRequest();
+        next.setCookies(new Cookie(ReadYourWrites.COOKIE, "1000000"));
+
+        // Act
+        now.addAndGet(1_000L);
+
+        // Assert
+        assertTrue(otherInstance.isPinned(next));
+        assertFalse(otherInstance.isPinned(new MockHttpServletRequest()));
+    }
+
+    @Test
+    @DisplayName("La fenêtre expire après le délai configuré")
+    void isPinned_AfterWindow_ReturnsFalse() {
+        // Arrange
+        MockHttpServletRequest next = new MockHttpServletRequest();
+        next.setCookies(new Cookie(ReadYourWrites.COOKIE, "1000000"));
+
+        // Act
+        now.addAndGet(4_999L);
+        boolean beforeExpiry = readYourWrites.isPinned(next);
+        now.addAndGet(1L);
+        boolean afterExpiry = readYourWrites.isPinned(next);
+
+        // Assert
+        assertTrue(beforeExpiry);
+        assertFalse(afterExpiry);
+    }
+
+    @Test
+    @DisplayName("Un cookie illisible ou une fenêtre nulle n'épinglent rien")
+    void invalidCookieOrDisabled_PinsNothing() {
+        // Arrange
+        ReadYourWrites disabled = new ReadYourWrites(0L, now::get);
+        MockHttpServletRequest invalid = new MockHttpServletRequest();
+        invalid.setCookies(new Cookie(ReadYourWrites.COOKIE, "demain"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        disabled.recordWrite(request, response);
+
+        // Assert
+        assertFalse(readYourWrites.isPinned(invalid));
+        assertFalse(disabled.isPinned(request));
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    @DisplayName("Hors requête HTTP, rien n'est enregistré ni épinglé")
+    void outsideRequest_PinsNothing() {
+        // Act
+        readYourWrites.recordWrite();
+
+        // Assert
+        assertFalse(readYourWrites.isPinned());
+    }
+}
@@ -0,0 +1,173 @@
+package com.openclassrooms.starterjwt.datasource;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires pour SqlStatementListener
+ *
+ * JUSTIFICATION : les requêtes sont regroupées par forme normalisée
+ * - Littéraux et listes IN ramenés à des paramètres
+ * - Une série de mesures par requête, histogramme à seuils fixes, nombre de requêtes distinctes borné
+ * - Durée mesurée par datasource-proxy en nanosecondes, paramètres lus seulement pour une requête lente
+ * - Journal des requêtes lentes sans valeur des paramètres
+ */
+@DisplayName("SqlStatementListener - Tests unitaires")
+class SqlStatementListenerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SqlStatementListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new SqlStatementListener(meterRegistry, 200L, 3);
+    }
+
+    @Test
+    @DisplayName("La normalisation retire les littéraux et regroupe les listes IN")
+    void normalize_ReplacesLiteralsAndInLists() {
+        // Act
+        String first = SqlStatementListener.normalize("select u.id from USERS u\n  where u.id in (?, ?, ?) and u.email = 'a@b.c' and u.admin = 1");
+        String second = SqlStatementListener.normalize("select u.id from USERS u where u.id in (?) and u.email = 'x' and u.admin = 0");
+
+        // Assert
+        assertEquals("select u.id from USERS u where u.id in (?) and u.email = ? and u.admin = ?", first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Les alias générés par Hibernate sont conservés")
+    void normalize_KeepsHibernateAliases() {
+        // Act
+        String normalized = SqlStatementListener.normalize("select session0_.id as id1_2_ from SESSIONS session0_");
+
+        // Assert
+        assertEquals("select session0_.id as id1_2_ from SESSIONS session0_", normalized);
+    }
+
+    @Test
+    @DisplayName("L'opération et la table principale sont extraites de la requête")
+    void operationAndTable_AreExtracted() {
+        // Assert
+        assertEquals("select", SqlStatementListener.operation("select * from SESSIONS s"));
+        assertEquals("SESSIONS", SqlStatementListener.table("select * from SESSIONS s"));
+        assertEquals("insert", SqlStatementListener.operation("insert into USERS (id) values (?)"));
+        assertEquals("USERS", SqlStatementListener.table("insert into USERS (id) values (?)"));
+        assertEquals("update", SqlStatementListener.operation("update ATTENDANCE_COUNTERS set participants=?"));
+        assertEquals("ATTENDANCE_COUNTERS", SqlStatementListener.table("update ATTENDANCE_COUNTERS set participants=?"));
+        assertEquals("other", SqlStatementListener.operation("call next value for seq"));
+    }
+
+    @Test
+    @DisplayName("Une sous-requête dans la projection ne masque pas la table principale")
+    void table_IgnoresSubqueries() {
+        // Act
+        String table = SqlStatementListener.table("select s.id, (select coalesce(sum(c.participants), ?) from ATTENDANCE_COUNTERS c where c.scope = ?) as formula1_ from SESSIONS s");
+
+        // Assert
+        assertEquals("SESSIONS", table);
+    }
+
+    @Test
+    @DisplayName("Les commentaires sont retirés avant de classer la requête")
+    void normalize_StripsComments() {
+        // Act
+        String normalized = SqlStatementListener.normalize("-- index de planning\nCREATE INDEX IDX_SESSIONS_DATE ON SESSIONS (date) /* V3 */");
+
+        // Assert
+        assertEquals("CREATE INDEX IDX_SESSIONS_DATE ON SESSIONS (date)", normalized);
+        assertEquals("other", SqlStatementListener.operation(normalized));
+    }
+
+    @Test
+    @DisplayName("Les exécutions d'une même requête alimentent le même timer")
+    void record_SameStatement_SharesTimer() {
+        // Act
+        listener.record("select * from USERS where id = ?", TimeUnit.MILLISECONDS.toNanos(2), () -> Collections.singletonList(1L), 1);
+        listener.record("select *  from USERS where id = ?", TimeUnit.MILLISECONDS.toNanos(4), () -> Collections.singletonList(2L), 1);
+
+        // Assert
+        assertEquals(1, listener.statements().size());
+        Timer timer = meterRegistry.get(SqlStatementListener.METER).tag("table", "USERS").timer();
+        assertEquals(2, timer.count());
+        assertEquals(6.0, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    @DisplayName("La durée vient de l'ExecutionInfo et les paramètres ne sont lus que pour une requête lente")
+    void afterQuery_UsesElapsedTimeAndReadsBindsOnlyWhenSlow() {
+        // Arrange
+        ExecutionInfo fast = new ExecutionInfo();
+        fast.setElapsedTime(TimeUnit.MICROSECONDS.toNanos(400));
+        ExecutionInfo slow = new ExecutionInfo();
+        slow.setElapsedTime(TimeUnit.MILLISECONDS.toNanos(250));
+        QueryInfo query = mock(QueryInfo.class);
+        when(query.getQuery()).thenReturn("select * from USERS where id = ?");
+        when(query.getParametersList()).thenReturn(Collections.emptyList());
+
+        // Act
+        listener.beforeQuery(fast, Collections.singletonList(query));
+        listener.afterQuery(fast, Collections.singletonList(query));
+        listener.record("select * from USERS where id = ?", 1000L, () -> {
+            throw new AssertionError("binds read for a fast statement");
+        }, 1);
+        listener.afterQuery(slow, Collections.singletonList(query));
+
+        // Assert
+        Timer timer = meterRegistry.get(SqlStatementListener.METER).tag("table", "USERS").timer();
+        assertEquals(3, timer.count());
+        assertEquals(250.401, timer.totalTime(TimeUnit.MILLISECONDS), 0.0001);
+        CountAtBucket[] buckets = timer.takeSnapshot().histogramCounts();
+        assertEquals(6, buckets.length);
+        assertEquals(2.0, buckets[0].count());
+        assertEquals(3.0, buckets[buckets.length - 1].count());
+    }
+
+    @Test
+    @DisplayName("Au-delà du nombre maximal, les requêtes sont regroupées")
+    void record_BeyondMaxStatements_UsesOverflow() {
+        // Act
+        for (String table : Arrays.asList("A", "B", "C", "D", "E")) {
+            listener.record("select * from " + table, 1000L, Collections::emptyList, 1);
+        }
+
+        // Assert
+        assertEquals(4, listener.statements().size());
+        assertEquals(2, meterRegistry.get(SqlStatementListener.METER)
+                .tag("statement", SqlStatementListener.OVERFLOW).timer().count());
+    }
+
+    @Test
+    @DisplayName("Le journal des requêtes lentes ne contient que le type des paramètres")
+    void slowQueryMessage_RedactsBindValues() {
+        // Arrange
+        listener.record("select * from USERS where email = ? and id = ?", 1000L, Collections::emptyList, 1);
+        SqlStatementListener.Statement statement = listener.statements().iterator().next();
+
+        // Act
+        String message = SqlStatementListener.slowQueryMessage(statement, TimeUnit.MILLISECONDS.toNanos(350),
+                Arrays.asList("secret@example.com", 42L, null), 1);
+
+        // Assert
+        assertTrue(message.startsWith("Slow SQL 350 ms [" + statement.getId() + "]"));
+        assertTrue(message.endsWith("binds=[String, Long, null]"));
+        assertFalse(message.contains("secret@example.com"));
+        assertFalse(message.contains("42"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.openclassrooms.starterjwt.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.openclassrooms.starterjwt.SpringBootSecurityJwtApplication;
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.payload.request.LoginRequest;
+import com.openclassrooms.starterjwt.repository.UserRepository;
+import com.openclassrooms.starterjwt.services.TeacherCatalog;
+import com.openclassrooms.starterjwt.startup.FirstRequestFilter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration du profil de démarrage rapide
+ *
+ * L'application est démarrée comme par main() (étapes de démarrage enregistrées)
+ * avec les profils test et fast-startup, sur un port aléatoire. Ces tests valident que :
+ * - Les beans sont créés à la première utilisation, sauf les tâches planifiées
+ * - Les dépôts JPA différés répondent à la première requête
+ * - La chronologie du démarrage et le délai jusqu'à la première requête sont exposés par actuator
+ */
+@DisplayName("Profil fast-startup - Tests d'intégration")
+class FastStartupIntegrationTest {
+
+    private static ConfigurableApplicationContext context;
+    private static RestTemplate restTemplate;
+    private static String baseUrl;
+
+    @BeforeAll
+    static void startApplication() {
+        context = SpringBootSecurityJwtApplication.application().run(
+                "--spring.profiles.active=test,fast-startup", "--server.port=0");
+        restTemplate = new RestTemplate();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        context.getBean(UserRepository.class).deleteAll();
+        context.close();
+    }
+
+    @Test
+    @DisplayName("Les beans sont créés à la première utilisation, sauf les tâches planifiées")
+    void beans_AreLazyExceptScheduledJobs() {
+        // Then
+        assertThat(context.getBeanFactory().containsSingleton("userController")).isFalse();
+        assertThat(context.getBeanFactory().getSingletonNames())
+                .anySatisfy(name -> assertThat(context.getType(name)).isEqualTo(TeacherCatalog.class));
+    }
+
+    @Test
+    @DisplayName("La première requête est servie et son délai depuis le démarrage de la JVM est exposé")
+    void firstRequest_IsServedAndMeasured() {
+        // When
+        HttpEntity<Void> authorized = authorized();
+        ResponseEntity<String> sessions = restTemplate.exchange(baseUrl + "/api/session", HttpMethod.GET, authorized, String.class);
+        JsonNode metric = restTemplate.exchange(baseUrl + "/actuator/metrics/" + FirstRequestFilter.METER,
+                HttpMethod.GET, authorized, JsonNode.class).getBody();
+
+        // Then
+        assertThat(sessions.getStatusCodeValue()).isEqualTo(200);
+        assertThat(metric.get("baseUnit").asText()).isEqualTo("seconds");
+        assertThat(metric.get("measurements").get(0).get("value").asDouble()).isPositive();
+    }
+
+    @Test
+    @DisplayName("GET /actuator/startup - Devrait exposer la chronologie du démarrage")
+    void startupEndpoint_ExposesTimeline() {
+        // When
+        JsonNode startup = restTemplate.exchange(baseUrl + "/actuator/startup", HttpMethod.GET, authorized(), JsonNode.class).getBody();
+
+        // Then
+        JsonNode events = startup.get("timeline").get("events");
+        assertThat(events.size()).isPositive();
+        assertThat(events.findValuesAsText("name")).contains("spring.context.refresh");
+    }
+
+    private static HttpEntity<Void> authorized() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        // Administrateur : les endpoints actuator autres que health et prometheus lui sont réservés
+        if (!userRepository.existsByEmail("startup@studio.com")) {
+            userRepository.save(new User("startup@studio.com", "Demarrage", "Test",
+                    context.getBean(PasswordEncoder.class).encode("password123"), true));
+        }
+
+        LoginRequest login = new LoginRequest();
+        login.setEmail("startup@studio.com");
+        login.setPassword("password123");
+        String token = restTemplate.postForObject(baseUrl + "/api/auth/login", login, JsonNode.class).get("token").asText();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return new HttpEntity<>(headers);
+    }
+}
@@ -0,0 +1,257 @@
+package com.openclassrooms.starterjwt.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.starterjwt.jfr.ControllerDispatchEvent;
+import com.openclassrooms.starterjwt.jfr.JwtVerificationEvent;
+import com.openclassrooms.starterjwt.jfr.MappingEvent;
+import com.openclassrooms.starterjwt.jfr.ParticipationEvent;
+import com.openclassrooms.starterjwt.jfr.RequestIdFilter;
+import com.openclassrooms.starterjwt.jfr.UserLookupEvent;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.payload.request.LoginRequest;
+import com.openclassrooms.starterjwt.repository.SessionRepository;
+import com.openclassrooms.starterjwt.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.repository.UserRepository;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.anonymous;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests d'intégration des événements Java Flight Recorder
+ *
+ * L'endpoint actuator jfr démarre, exporte et arrête un enregistrement.
+ * Ces tests valident que l'export contient les événements applicatifs :
+ * - Vérification du JWT et chargement de l'utilisateur
+ * - Inscription à une session, mapping et traitement par le contrôleur
+ * - Identifiant de la requête (X-Request-Id), sujet du jeton et utilisateur authentifié
+ * Ils vérifient aussi que l'endpoint est réservé aux administrateurs.
+ */
+@SpringBootTest(properties = {
+        "oc.app.jfr.enabled=true",
+        "oc.app.jfr.threshold.jwtVerification=0ms",
+        "oc.app.jfr.threshold.userLookup=0ms",
+        "oc.app.jfr.threshold.mapping=0ms",
+        "oc.app.jfr.threshold.controllerDispatch=0ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Java Flight Recorder - Tests d'intégration")
+class FlightRecorderIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        // Nettoyage de la base avant chaque test
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+
+        user = userRepository.save(new User("yoga@studio.com", "Martin", "Sophie", passwordEncoder.encode("password123"), false));
+
+        Teacher teacher = teacherRepository.save(new Teacher()
+                .setFirstName("Marie")
+                .setLastName("Dubois")
+                .setCreatedAt(LocalDateTime.now())
+                .setUpdatedAt(LocalDateTime.now()));
+
+        session = sessionRepository.save(new Session()
+                .setName("Yoga Matinal")
+                .setDate(new Date())
+                .setDescription("Session de yoga du matin")
+                .setTeacher(teacher)
+                .setUsers(new ArrayList<>()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mockMvc.perform(delete("/actuator/jfr").with(user("ops").roles("ADMIN")));
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("L'export contient les événements applicatifs avec leurs identifiants")
+    void recording_ContainsApplicationEvents() throws Exception {
+        // Given
+        mockMvc.perform(post("/actuator/jfr").with(user("ops").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+        String token = login();
+
+        // When
+        mockMvc.perform(post("/api/session/{id}/participate/{userId}", session.getId(), user.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header(RequestIdFilter.HEADER, "participate-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestIdFilter.HEADER, "participate-1"));
+        mockMvc.perform(get("/api/session/{id}", session.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(RequestIdFilter.HEADER));
+        List<RecordedEvent> events = dump();
+
+        // Then
+        assertThat(events(events, JwtVerificationEvent.NAME)).anySatisfy(event -> {
+            assertThat(event.getBoolean("valid")).isTrue();
+            assertThat(event.getString("requestId")).isEqualTo("participate-1");
+            assertThat(event.getString("subject")).isEqualTo(user.getEmail());
+        });
+        assertThat(events(events, UserLookupEvent.NAME))
+                .anySatisfy(event -> assertThat(event.getLong("userId")).isEqualTo(user.getId()));
+        assertThat(events(events, ParticipationEvent.NAME)).anySatisfy(event -> {
+            assertThat(event.getLong("sessionId")).isEqualTo(session.getId());
+            assertThat(event.getLong("userId")).isEqualTo(user.getId());
+            assertThat(event.getString("action")).isEqualTo("participate");
+        });
+        assertThat(events(events, MappingEvent.NAME))
+                .anySatisfy(event -> assertThat(event.getString("mapper")).isEqualTo("SessionMapper"));
+        assertThat(events(events, ControllerDispatchEvent.NAME)).anySatisfy(event -> {
+            assertThat(event.getString("uri")).isEqualTo("/api/session/{id}/participate/{userId}");
+            assertThat(event.getString("handler")).isEqualTo("SessionController.participate");
+            assertThat(event.getString("requestId")).isEqualTo("participate-1");
+            assertThat(event.getLong("userId")).isEqualTo(user.getId());
+            assertThat(event.getInt("status")).isEqualTo(200);
+        });
+    }
+
+    @Test
+    @DisplayName("GET /actuator/jfr - Devrait renvoyer 404 sans enregistrement en cours")
+    void dump_WithoutRecording_ReturnsNotFound() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/jfr").with(user("ops").roles("ADMIN"))).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("DELETE /actuator/jfr - Devrait arrêter l'enregistrement")
+    void stop_ClosesRecording() throws Exception {
+        // Given
+        mockMvc.perform(post("/actuator/jfr").with(user("ops").roles("ADMIN"))).andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(delete("/actuator/jfr").with(user("ops").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("CLOSED"));
+        mockMvc.perform(get("/actuator/jfr").with(user("ops").roles("ADMIN"))).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("/actuator/jfr - Devrait refuser les utilisateurs non administrateurs")
+    void endpoint_RequiresAdmin() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/actuator/jfr").with(user("member"))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/jfr").with(user("member"))).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/jfr").with(user("member"))).andExpect(status().isForbidden());
+        mockMvc.perform(post("/actuator/jfr").with(anonymous())).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/jfr").with(anonymous())).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("GET /actuator/jfr - Devrait supprimer le fichier temporaire une fois l'export lu")
+    void dump_DeletesTemporaryFile() throws Exception {
+        // Given
+        mockMvc.perform(post("/actuator/jfr").with(user("ops").roles("ADMIN"))).andExpect(status().isOk());
+        List<String> before = temporaryDumps();
+
+        // When
+        dump();
+
+        // Then
+        assertThat(temporaryDumps()).isSubsetOf(before);
+    }
+
+    private List<RecordedEvent> dump() throws Exception {
+        byte[] recording = mockMvc.perform(get("/actuator/jfr").with(user("ops").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Path file = Files.createTempFile("yoga-app-test", ".jfr");
+        try {
+            Files.write(file, recording);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<String> temporaryDumps() throws Exception {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.matches("yoga-app\\d+\\.jfr"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static List<RecordedEvent> events(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    private String login() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("yoga@studio.com");
+        loginRequest.setPassword("password123");
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+}
@@ -3,6 +3,7 @@ package com.openclassrooms.starterjwt.integration;
 import com.openclassrooms.starterjwt.dto.SessionDto;
 import com.openclassrooms.starterjwt.dto.TeacherDto;
 import com.openclassrooms.starterjwt.dto.UserDto;
+import com.openclassrooms.starterjwt.exception.UnknownIdsException;
 import com.openclassrooms.starterjwt.mapper.SessionMapper;
 import com.openclassrooms.starterjwt.mapper.TeacherMapper;
 import com.openclassrooms.starterjwt.mapper.UserMapper;
@@ -26,6 +27,7 @@ import java.util.Arrays;
 import java.util.Date;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests d'intégration pour les Mappers MapStruct
@@ -381,10 +383,61 @@ class MappersIntegrationTest {
         // When - Mapping vers entité (utilise les services injectés)
         Session session = sessionMapper.toEntity(sessionDto);
 
-        // Then - Vérifier que les entités sont chargées via les services
+        // Then - Le professeur est une référence (seule la clé étrangère est utile), les utilisateurs sont chargés
         assertThat(session.getTeacher()).isNotNull();
-        assertThat(session.getTeacher().getFirstName()).isEqualTo("Jane");
+        assertThat(session.getTeacher().getId()).isEqualTo(testTeacher.getId());
         assertThat(session.getUsers()).hasSize(1);
         assertThat(session.getUsers().get(0).getFirstName()).isEqualTo("John");
     }
+
+    @Test
+    @DisplayName("SessionMapper.toEntity() - Devrait signaler les utilisateurs inconnus au lieu de les mapper à null")
+    void sessionMapperToEntity_WithUnknownUserIds_ShouldThrow() {
+        // Given
+        SessionDto sessionDto = new SessionDto();
+        sessionDto.setName("Unknown users");
+        sessionDto.setDescription("Description");
+        sessionDto.setDate(new Date());
+        sessionDto.setTeacher_id(testTeacher.getId());
+        sessionDto.setUsers(Arrays.asList(testUser.getId(), 999998L, 999999L));
+
+        // When & Then
+        assertThatThrownBy(() -> sessionMapper.toEntity(sessionDto))
+                .isInstanceOf(UnknownIdsException.class)
+                .satisfies(e -> assertThat(((UnknownIdsException) e).getIds()).containsExactly(999998L, 999999L));
+    }
+
+    @Test
+    @DisplayName("SessionMapper.toEntity() - Devrait signaler un professeur inconnu")
+    void sessionMapperToEntity_WithUnknownTeacherId_ShouldThrow() {
+        // Given
+        SessionDto sessionDto = new SessionDto();
+        sessionDto.setName("Unknown teacher");
+        sessionDto.setDescription("Description");
+        sessionDto.setDate(new Date());
+        sessionDto.setTeacher_id(999999L);
+
+        // When & Then
+        assertThatThrownBy(() -> sessionMapper.toEntity(sessionDto))
+                .isInstanceOf(UnknownIdsException.class)
+                .hasMessageContaining("teacher");
+    }
+
+    @Test
+    @DisplayName("SessionMapper.toEntity() - Devrait dédoublonner les utilisateurs en conservant l'ordre")
+    void sessionMapperToEntity_WithDuplicateUserIds_ShouldDeduplicate() {
+        // Given
+        SessionDto sessionDto = new SessionDto();
+        sessionDto.setName("Duplicates");
+        sessionDto.setDescription("Description");
+        sessionDto.setDate(new Date());
+        sessionDto.setTeacher_id(testTeacher.getId());
+        sessionDto.setUsers(Arrays.asList(testUser.getId(), null, testUser.getId()));
+
+        // When
+        Session session = sessionMapper.toEntity(sessionDto);
+
+        // Then
+        assertThat(session.getUsers()).extracting(User::getId).containsExactly(testUser.getId());
+    }
 }
@@ -0,0 +1,200 @@
+package com.openclassrooms.starterjwt.integration;
+
+import com.openclassrooms.starterjwt.metrics.AllocationFilter;
+import com.openclassrooms.starterjwt.metrics.MetricsConfig;
+import com.openclassrooms.starterjwt.metrics.ServerTimingFilter;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.repository.SessionRepository;
+import com.openclassrooms.starterjwt.repository.TeacherRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.anonymous;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests d'intégration des métriques de latence
+ *
+ * Ces tests valident que :
+ * - Chaque endpoint est chronométré avec le modèle de chemin, pas l'identifiant
+ * - Les méthodes des services sont chronométrées par classe et par méthode
+ * - Les octets alloués par requête sont comptés par endpoint
+ * - Les jauges du pool HikariCP et l'endpoint Prometheus sont disponibles
+ * - Prometheus est lisible sans jeton par le collecteur, les autres endpoints actuator
+ *   sont réservés aux administrateurs
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@WithMockUser
+@DisplayName("Métriques de latence - Tests d'intégration")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        // Nettoyage de la base avant chaque test
+        sessionRepository.deleteAll();
+        teacherRepository.deleteAll();
+
+        Teacher teacher = teacherRepository.save(new Teacher()
+                .setFirstName("Marie")
+                .setLastName("Dubois")
+                .setCreatedAt(LocalDateTime.now())
+                .setUpdatedAt(LocalDateTime.now()));
+
+        session = sessionRepository.save(new Session()
+                .setName("Yoga Matinal")
+                .setDate(new Date())
+                .setDescription("Session de yoga du matin")
+                .setTeacher(teacher)
+                .setUsers(new ArrayList<>()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Les endpoints sont chronométrés par modèle de chemin avec un histogramme")
+    void endpoint_IsTimedByPathTemplate() throws Exception {
+        // When
+        mockMvc.perform(get("/api/session/{id}", session.getId())).andExpect(status().isOk());
+
+        // Then
+        Timer timer = meterRegistry.get("http.server.requests")
+                .tags("method", "GET", "uri", "/api/session/{id}", "status", "200")
+                .timer();
+        assertThat(timer.count()).isPositive();
+        assertThat(timer.takeSnapshot().histogramCounts()).isNotEmpty();
+        assertThat(meterRegistry.find("http.server.requests").tag("uri", "/api/session/" + session.getId()).timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("Les méthodes des services sont chronométrées par classe et par méthode")
+    void serviceMethod_IsTimed() throws Exception {
+        // When
+        mockMvc.perform(get("/api/session/{id}", session.getId())).andExpect(status().isOk());
+
+        // Then
+        Timer timer = meterRegistry.get(MetricsConfig.SERVICE_TIMER)
+                .tags("class", "com.openclassrooms.starterjwt.services.SessionService", "method", "getById")
+                .timer();
+        assertThat(timer.count()).isPositive();
+        assertThat(timer.takeSnapshot().histogramCounts()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Les jauges du pool de connexions sont publiées")
+    void hikariPool_IsMeasured() {
+        // Then
+        assertThat(meterRegistry.find("hikaricp.connections.active").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.max").gauge()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Les octets alloués sont comptés par endpoint, y compris pour un accès refusé")
+    void allocation_IsRecordedPerEndpoint() throws Exception {
+        // When
+        mockMvc.perform(get("/api/session")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/session").with(anonymous())).andExpect(status().isUnauthorized());
+
+        // Then
+        DistributionSummary allowed = meterRegistry.get(AllocationFilter.METER)
+                .tags("method", "GET", "uri", "/api/session", "status", "200")
+                .summary();
+        assertThat(allowed.count()).isPositive();
+        assertThat(allowed.totalAmount()).isPositive();
+        assertThat(allowed.takeSnapshot().histogramCounts()).isNotEmpty();
+        assertThat(meterRegistry.find(AllocationFilter.METER).tags("status", "401").summary()).isNotNull();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /actuator/metrics/http.server.allocation - Devrait exposer les octets par endpoint")
+    void allocationMetric_IsExposed() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/session")).andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/actuator/metrics/{name}", AllocationFilter.METER).param("tag", "uri:/api/session"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.baseUnit").value("bytes"))
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'TOTAL')].value").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /actuator/metrics - Devrait être réservé aux administrateurs")
+    void actuatorMetrics_RequiresAdmin() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").with(anonymous())).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics").with(user("ops").roles("ADMIN"))).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("L'en-tête Server-Timing est désactivé par défaut")
+    void serverTiming_IsDisabledByDefault() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/session/{id}", session.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTimingFilter.HEADER));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - Devrait exposer les histogrammes sans identifiant brut, sans authentification")
+    void prometheusEndpoint_ExposesHistograms() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/session/{id}", session.getId())).andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/actuator/prometheus").with(anonymous()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("uri=\"/api/session/{id}\"")))
+                .andExpect(content().string(containsString("yoga_service_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(not(containsString("uri=\"/api/session/" + session.getId() + "\""))));
+    }
+}
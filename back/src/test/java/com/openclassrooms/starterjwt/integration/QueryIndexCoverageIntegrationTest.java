@@ -0,0 +1,335 @@
+package com.openclassrooms.starterjwt.integration;
+
+import com.openclassrooms.starterjwt.models.AttendanceCounter;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.repository.AttendanceCounterRepository;
+import com.openclassrooms.starterjwt.repository.AttendanceCounterRepositoryCustom;
+import com.openclassrooms.starterjwt.repository.SessionRepository;
+import com.openclassrooms.starterjwt.repository.SessionRepositoryCustom;
+import com.openclassrooms.starterjwt.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.repository.UserRepository;
+import com.openclassrooms.starterjwt.repository.UserRepositoryCustom;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérification des index pour les requêtes des repositories
+ *
+ * Chaque méthode de requête déclarée dans les repositories est exécutée sur le schéma
+ * créé par les migrations Flyway. Le SQL généré par Hibernate est enregistré, rattaché à la
+ * méthode de repository qui l'a exécuté, puis passé à EXPLAIN : un parcours complet de table
+ * n'est accepté que pour la table principale d'une liste sans filtre (findAll, export...) et
+ * pour le calcul de dérive de la réconciliation, qui agrège volontairement toutes les
+ * participations. Une méthode déclarée qui n'a exécuté aucun SQL fait échouer le test.
+ *
+ * Objectif : faire échouer le build quand une requête n'a pas d'index pour la soutenir
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(QueryIndexCoverageIntegrationTest.RepositoryCalls.class)
+@DisplayName("Requêtes des repositories - Couverture par les index")
+class QueryIndexCoverageIntegrationTest {
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)\\.tableScan");
+
+    private static final Pattern DRIVING_TABLE = Pattern.compile("^FROM \"PUBLIC\"\\.\"(\\w+)\"", Pattern.MULTILINE);
+
+    private static final Pattern PARENTHESES = Pattern.compile("\\([^()]*\\)");
+
+    private static final List<Class<?>> REPOSITORIES = Arrays.asList(SessionRepository.class, SessionRepositoryCustom.class,
+            UserRepository.class, UserRepositoryCustom.class,
+            TeacherRepository.class, AttendanceCounterRepository.class, AttendanceCounterRepositoryCustom.class);
+
+    private static final Set<String> FULL_SCANS = Collections.singleton("AttendanceCounterRepositoryCustom.findDrift()");
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private AttendanceCounterRepository attendanceCounterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RepositoryCalls repositoryCalls;
+
+    private Teacher teacher;
+    private User user;
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        // Nettoyage de la base avant chaque test
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+        attendanceCounterRepository.deleteAll();
+
+        teacher = teacherRepository.save(new Teacher()
+                .setFirstName("John")
+                .setLastName("Doe")
+                .setCreatedAt(LocalDateTime.now())
+                .setUpdatedAt(LocalDateTime.now()));
+
+        user = userRepository.save(new User("user@example.com", "Smith", "Jane", "password123", false));
+
+        session = sessionRepository.save(new Session()
+                .setName("Yoga Session")
+                .setDescription("Morning yoga")
+                .setDate(new Date())
+                .setTeacher(teacher)
+                .setUsers(new ArrayList<>(Collections.singletonList(user))));
+
+        attendanceCounterRepository.save(new AttendanceCounter(AttendanceCounter.Scope.TEACHER, teacher.getId(), 0, 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlRecorder.stop();
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+        attendanceCounterRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Toutes les requêtes des repositories utilisent un index")
+    void repositoryQueries_UseIndexes() {
+        // When
+        Map<String, List<String>> statements = exerciseRepositories();
+
+        // Then
+        assertThat(statements).isNotEmpty();
+        assertThat(statements.entrySet().stream()
+                .filter(call -> !FULL_SCANS.contains(call.getKey()))
+                .flatMap(call -> call.getValue().stream()
+                        .filter(sql -> !tableScans(sql).isEmpty())
+                        .map(sql -> call.getKey() + " : " + sql + " -> " + tableScans(sql)))
+                .collect(Collectors.toList()))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Une requête filtrée sur une colonne non indexée est détectée")
+    void unindexedFilter_IsDetected() {
+        // When
+        List<String> scans = tableScans("select id from TEACHERS where last_name = ?");
+
+        // Then
+        assertThat(scans).containsExactly("TEACHERS");
+    }
+
+    @Test
+    @DisplayName("Chaque méthode de requête déclarée a exécuté du SQL passé à EXPLAIN")
+    void declaredQueryMethods_AreExercised() {
+        // When
+        Map<String, List<String>> statements = exerciseRepositories();
+        statements.values().forEach(executed -> executed.forEach(this::explain));
+
+        // Then
+        Set<String> declared = REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods()))
+                .filter(method -> Modifier.isAbstract(method.getModifiers()))
+                .map(QueryIndexCoverageIntegrationTest::key)
+                .collect(Collectors.toCollection(TreeSet::new));
+        assertThat(declared)
+                .isNotEmpty()
+                .allSatisfy(method -> assertThat(statements.getOrDefault(method, Collections.emptyList())).as("SQL exécuté par %s", method).isNotEmpty());
+    }
+
+    /**
+     * Appelle chaque méthode des repositories avec un cache de second niveau vide
+     * et renvoie, par méthode appelée, le SQL qu'elle a réellement exécuté.
+     */
+    private Map<String, List<String>> exerciseRepositories() {
+        Sort schedule = Sort.by("date", "id");
+        Date from = new Date(0);
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictAllRegions();
+        repositoryCalls.clear();
+
+        SqlRecorder.start();
+        userRepository.findByEmail(user.getEmail());
+        userRepository.existsByEmail(user.getEmail());
+        userRepository.findById(user.getId());
+        userRepository.findAllById(Collections.singletonList(user.getId()));
+        userRepository.findParticipants(session.getId(), 0L, PageRequest.of(0, 10));
+        userRepository.findProjectedById(user.getId(), new HashSet<>(Arrays.asList("id", "email")));
+        teacherRepository.findAll();
+        teacherRepository.findById(teacher.getId());
+        teacherRepository.existsById(teacher.getId());
+        sessionRepository.findAll();
+        sessionRepository.findById(session.getId());
+        sessionRepository.existsById(session.getId());
+        sessionRepository.findScheduleByTeacherId(teacher.getId(), from, PageRequest.of(0, 1, schedule));
+        sessionRepository.findScheduleByTeacherId(teacher.getId(), from, new Date(), PageRequest.of(0, 1, schedule));
+        sessionRepository.findAllProjected(new HashSet<>(Arrays.asList("id", "teacher_id")));
+        sessionRepository.countParticipant(session.getId(), user.getId());
+        sessionRepository.removeParticipant(session.getId(), user.getId());
+        sessionRepository.addParticipant(session.getId(), user.getId());
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Map<String, Object>> rows = sessionRepository.streamAllSummaries(10)) {
+                rows.forEach(row -> { });
+            }
+        });
+        attendanceCounterRepository.upsert(AttendanceCounter.Scope.TEACHER, teacher.getId(), 0, 1);
+        attendanceCounterRepository.deleteByScopeKey(AttendanceCounter.Scope.SESSION, session.getId());
+        attendanceCounterRepository.findDrift();
+        attendanceCounterRepository.findAll();
+        SqlRecorder.stop();
+
+        return repositoryCalls.statements();
+    }
+
+    private static String key(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                + Arrays.stream(method.getParameterTypes()).map(Class::getSimpleName).collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    private List<String> tableScans(String sql) {
+        String plan = explain(sql);
+        boolean filtered = outerQuery(sql).toLowerCase(Locale.ROOT).contains(" where ");
+        Matcher driving = DRIVING_TABLE.matcher(plan);
+        String drivingTable = driving.find() ? driving.group(1) : null;
+
+        List<String> scans = new ArrayList<>();
+        Matcher scan = TABLE_SCAN.matcher(plan);
+        while (scan.find()) {
+            if (filtered || !scan.group(1).equals(drivingTable)) {
+                scans.add(scan.group(1));
+            }
+        }
+        return scans;
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    private static String outerQuery(String sql) {
+        String outer = sql;
+        String previous;
+        do {
+            previous = outer;
+            outer = PARENTHESES.matcher(outer).replaceAll("");
+        } while (!outer.equals(previous));
+        return outer;
+    }
+
+    /**
+     * Attribue à chaque méthode de repository appelée le SQL enregistré par
+     * {@link SqlRecorder} pendant son exécution, ou jusqu'à la fermeture du flux
+     * qu'elle renvoie. Une méthode héritée d'un des
+     * REPOSITORIES est rattachée à l'interface qui la déclare.
+     */
+    @Aspect
+    static class RepositoryCalls {
+
+        private final Map<String, List<String>> statements = new LinkedHashMap<>();
+
+        @Around("execution(* *(..)) && target(org.springframework.data.repository.Repository)")
+        public Object record(ProceedingJoinPoint call) throws Throwable {
+            int before = SqlRecorder.recorded().size();
+            Object result;
+            try {
+                result = call.proceed();
+            } catch (Throwable e) {
+                this.attribute(call, before);
+                throw e;
+            }
+
+            // Hibernate 6 n'exécute la requête d'un flux qu'à sa lecture : son SQL est attribué à sa fermeture
+            if (result instanceof Stream) {
+                return ((Stream<?>) result).onClose(() -> this.attribute(call, before));
+            }
+            this.attribute(call, before);
+            return result;
+        }
+
+        private void attribute(ProceedingJoinPoint call, int before) {
+            List<String> executed = SqlRecorder.recorded();
+            this.statements.computeIfAbsent(this.declaration(call), method -> new ArrayList<>())
+                    .addAll(executed.subList(Math.min(before, executed.size()), executed.size()));
+        }
+
+        void clear() {
+            this.statements.clear();
+        }
+
+        Map<String, List<String>> statements() {
+            return new LinkedHashMap<>(this.statements);
+        }
+
+        private String declaration(ProceedingJoinPoint call) {
+            Method invoked = ((MethodSignature) call.getSignature()).getMethod();
+            return REPOSITORIES.stream()
+                    .filter(repository -> repository.isInstance(call.getTarget()))
+                    .map(repository -> {
+                        try {
+                            return repository.getDeclaredMethod(invoked.getName(), invoked.getParameterTypes());
+                        } catch (NoSuchMethodException e) {
+                            return null;
+                        }
+                    })
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .map(QueryIndexCoverageIntegrationTest::key)
+                    .orElseGet(() -> key(invoked));
+        }
+    }
+}
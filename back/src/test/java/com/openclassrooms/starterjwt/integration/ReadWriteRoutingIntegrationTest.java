@@ -0,0 +1,234 @@
+package com.openclassrooms.starterjwt.integration;
+
+import com.openclassrooms.starterjwt.datasource.ReadYourWrites;
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.repository.UserRepository;
+import com.openclassrooms.starterjwt.services.TeacherCatalog;
+import com.openclassrooms.starterjwt.services.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration du routage lecture/écriture
+ *
+ * Deux bases H2 indépendantes jouent la primaire et le réplica ; aucune réplication
+ * n'a lieu entre elles, ce qui rend visible la base qui a servi chaque lecture :
+ * - Transactions en lecture seule (dont les lectures des repositories Spring Data) → réplica
+ * - Écritures → primaire
+ * - Après une écriture, les lectures du client qui a écrit restent sur la primaire,
+ *   grâce au cookie renvoyé avec ses requêtes suivantes
+ * - Le catalogue des enseignants se recharge depuis la primaire
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "oc.app.datasource.replica.jdbc-url=jdbc:h2:mem:replicadb;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "oc.app.datasource.replica.username=replica",
+        "oc.app.datasource.replica.maximum-pool-size=2",
+        "oc.app.datasource.replica.sticky-window-ms=60000"
+})
+@DisplayName("Routage primaire/réplica - Tests d'intégration")
+class ReadWriteRoutingIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeacherCatalog teacherCatalog;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        // Le contexte de test lie une requête fictive au thread : chaque test choisit la sienne
+        RequestContextHolder.resetRequestAttributes();
+        cleanUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        cleanUp();
+    }
+
+    @Test
+    @DisplayName("Une lecture en lecture seule est servie par le réplica")
+    void readOnlyTransaction_UsesReplica() {
+        // Given
+        insertUser(replica, 100L, "replica@test.com");
+        insertUser(primary, 200L, "primary@test.com");
+
+        // When / Then
+        assertThat(userService.findById(100L)).extracting(User::getEmail).isEqualTo("replica@test.com");
+        assertThat(userService.findById(200L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Les écritures vont sur la primaire")
+    void writes_UsePrimary() {
+        // When
+        User saved = userRepository.save(new User("primary@test.com", "Doe", "Jane", "password123", false));
+
+        // Then
+        assertThat(primary.queryForObject("select count(*) from USERS where email = 'primary@test.com'", Long.class))
+                .isEqualTo(1L);
+        assertThat(replica.queryForObject("select count(*) from USERS where email = 'primary@test.com'", Long.class))
+                .isZero();
+        assertThat(userRepository.findById(saved.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Le réplica n'hérite pas des propriétés spring.datasource de la primaire")
+    void replica_HasItsOwnProperties() {
+        // Then
+        HikariDataSource primaryPool = (HikariDataSource) primaryDataSource;
+        HikariDataSource replicaPool = (HikariDataSource) replicaDataSource;
+        assertThat(primaryPool.getUsername()).isEqualTo("sa");
+        assertThat(replicaPool.getUsername()).isEqualTo("replica");
+        assertThat(replicaPool.getMaximumPoolSize()).isEqualTo(2);
+        assertThat(replicaPool.isReadOnly()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Après une écriture, le client qui a écrit lit sur la primaire et les autres sur le réplica")
+    void afterWrite_WriterReadsFromPrimary() {
+        // Given
+        insertUser(primary, 200L, "primary@test.com");
+        insertUser(primary, 300L, "deleted@test.com");
+        MockHttpServletResponse writeResponse = inRequest(new MockHttpServletRequest());
+
+        // When
+        userService.delete(300L);
+
+        // Then - Même requête, puis requête suivante du même client (éventuellement sur une autre instance)
+        assertThat(userService.findById(200L)).isNotNull();
+        Cookie lastWrite = writeResponse.getCookie(ReadYourWrites.COOKIE);
+        assertThat(lastWrite).isNotNull();
+
+        // La lecture précédente a alimenté le cache de second niveau, commun aux deux bases
+        entityManagerFactory.getCache().evictAll();
+        MockHttpServletRequest writer = new MockHttpServletRequest();
+        writer.setCookies(lastWrite);
+        inRequest(writer);
+        assertThat(userService.findById(200L)).isNotNull();
+
+        entityManagerFactory.getCache().evictAll();
+        inRequest(new MockHttpServletRequest());
+        assertThat(userService.findById(200L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Une écriture hors requête HTTP ne fixe aucune lecture sur la primaire")
+    void writeOutsideRequest_DoesNotPin() {
+        // Given
+        insertUser(primary, 200L, "primary@test.com");
+        insertUser(primary, 300L, "deleted@test.com");
+
+        // When
+        userService.delete(300L);
+
+        // Then
+        assertThat(userService.findById(200L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Le rechargement du catalogue des enseignants lit la primaire, pas un réplica en retard")
+    void teacherCatalogReload_UsesPrimary() {
+        // Given - L'enseignant n'existe encore que sur la primaire
+        primary.update("insert into TEACHERS (id, last_name, first_name) values (?, ?, ?)", 100L, "Primary", "Only");
+
+        try {
+            // When
+            teacherCatalog.invalidate();
+
+            // Then
+            assertThat(teacherCatalog.contains(100L)).isTrue();
+        } finally {
+            primary.update("delete from TEACHERS where id = 100");
+            teacherCatalog.invalidate();
+        }
+    }
+
+    @TestConfiguration
+    static class ReplicaSchema {
+
+        // Le réplica n'étant alimenté par aucune réplication, son schéma est créé avant le démarrage du contexte
+        @Bean
+        static BeanPostProcessor replicaMigration() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if ("replicaDataSource".equals(beanName)) {
+                        Flyway.configure()
+                                .dataSource((DataSource) bean)
+                                .locations("classpath:db/migration")
+                                .load()
+                                .migrate();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    private MockHttpServletResponse inRequest(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    private void insertUser(JdbcTemplate database, Long id, String email) {
+        database.update("insert into USERS (id, email, last_name, first_name, password, admin) values (?, ?, ?, ?, ?, ?)",
+                id, email, "Doe", "John", "password123", false);
+    }
+
+    private void cleanUp() {
+        for (JdbcTemplate database : new JdbcTemplate[] { primary, replica }) {
+            database.update("delete from PARTICIPATE");
+            database.update("delete from SESSIONS");
+            database.update("delete from USERS");
+        }
+        // Les lignes sont écrites en JDBC, hors du cache de second niveau d'Hibernate
+        entityManagerFactory.getCache().evictAll();
+    }
+}
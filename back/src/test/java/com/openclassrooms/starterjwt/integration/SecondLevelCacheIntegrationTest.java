@@ -0,0 +1,216 @@
+package com.openclassrooms.starterjwt.integration;
+
+import com.openclassrooms.starterjwt.cache.SecondLevelCacheConfig;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.repository.SessionRepository;
+import com.openclassrooms.starterjwt.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.repository.UserRepository;
+import com.openclassrooms.starterjwt.services.SessionService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.cache.CacheManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests d'intégration du cache de second niveau d'Hibernate
+ *
+ * Ces tests valident que les lectures répétées ne retournent plus en base :
+ * - Professeurs et utilisateurs lus par identifiant
+ * - Recherche d'un utilisateur par email (cache de requêtes)
+ * - Mise à jour du cache lors des écritures (stratégie read-write)
+ * - Métriques de hits/miss par région et tailles de région configurées
+ * - Les participants d'une session, modifiés à chaque inscription, ne sont pas mis en cache
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Cache de second niveau - Tests d'intégration")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${oc.app.cache.users.size}")
+    private long usersSize;
+
+    private Teacher teacher;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // Nettoyage de la base avant chaque test
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+
+        teacher = teacherRepository.save(new Teacher()
+                .setFirstName("John")
+                .setLastName("Doe")
+                .setCreatedAt(LocalDateTime.now())
+                .setUpdatedAt(LocalDateTime.now()));
+
+        user = userRepository.save(new User("user@example.com", "Smith", "Jane", "password123", false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlRecorder.stop();
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Un professeur déjà lu est servi par le cache")
+    void findTeacherById_Twice_HitsCache() {
+        // Given
+        entityManagerFactory.getCache().evictAll();
+        double hits = secondLevelCacheRequests(SecondLevelCacheConfig.TEACHERS, "hit");
+        teacherRepository.findById(teacher.getId());
+
+        // When
+        SqlRecorder.start();
+        Teacher cached = teacherRepository.findById(teacher.getId()).orElse(null);
+        List<String> statements = SqlRecorder.stop();
+
+        // Then
+        assertThat(cached).isNotNull();
+        assertThat(cached.getLastName()).isEqualTo("Doe");
+        assertThat(statements).isEmpty();
+        assertThat(secondLevelCacheRequests(SecondLevelCacheConfig.TEACHERS, "hit")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    @DisplayName("La recherche par email est servie par le cache de requêtes")
+    void findByEmail_Twice_HitsQueryCache() {
+        // Given
+        double hits = queryCacheRequests("hit");
+        userRepository.findByEmail("user@example.com");
+
+        // When
+        SqlRecorder.start();
+        User cached = userRepository.findByEmail("user@example.com").orElse(null);
+        List<String> statements = SqlRecorder.stop();
+
+        // Then
+        assertThat(cached).isNotNull();
+        assertThat(cached.getId()).isEqualTo(user.getId());
+        assertThat(statements).isEmpty();
+        assertThat(queryCacheRequests("hit")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    @DisplayName("Une modification d'utilisateur invalide le cache de requêtes")
+    void updateUser_InvalidatesQueryCache() {
+        // Given
+        userRepository.findByEmail("user@example.com");
+
+        // When
+        userRepository.save(user.setEmail("renamed@example.com"));
+
+        // Then
+        assertThat(userRepository.findByEmail("user@example.com")).isEmpty();
+        assertThat(userRepository.findByEmail("renamed@example.com")).isPresent();
+        assertThat(userRepository.findById(user.getId()))
+                .hasValueSatisfying(found -> assertThat(found.getEmail()).isEqualTo("renamed@example.com"));
+    }
+
+    @Test
+    @DisplayName("Les participants d'une session sont toujours relus en base")
+    void sessionParticipants_AreNotCached() {
+        // Given
+        User other = userRepository.save(new User("other@example.com", "Martin", "Paul", "password123", false));
+        Session session = sessionRepository.save(new Session()
+                .setName("Yoga Session")
+                .setDescription("Morning yoga")
+                .setDate(new Date())
+                .setTeacher(teacher)
+                .setUsers(new ArrayList<>(Collections.singletonList(user))));
+        sessionService.findAllWithUsers();
+
+        // When
+        SqlRecorder.start();
+        List<Session> sessions = sessionService.findAllWithUsers();
+        List<String> statements = SqlRecorder.stop();
+        sessionService.participate(session.getId(), other.getId());
+
+        // Then
+        assertThat(sessions).hasSize(1);
+        assertThat(sessions.get(0).getUsers()).extracting(User::getId).containsExactly(user.getId());
+        assertThat(sessions.get(0).getTeacher().getId()).isEqualTo(teacher.getId());
+        assertThat(statements).anyMatch(sql -> sql.toUpperCase().contains("PARTICIPATE"));
+        assertThat(entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class)
+                .containsCollection(Session.class.getName() + ".users", session.getId())).isFalse();
+        assertThat(sessionService.findAllWithUsers().get(0).getUsers())
+                .extracting(User::getId)
+                .containsExactlyInAnyOrder(user.getId(), other.getId());
+    }
+
+    @Test
+    @DisplayName("Les régions du cache ont la taille configurée")
+    void regions_UseConfiguredSizes() {
+        // When
+        @SuppressWarnings("unchecked")
+        Eh107Configuration<Object, Object> configuration = hibernateCacheManager.getCache(SecondLevelCacheConfig.USERS)
+                .getConfiguration(Eh107Configuration.class);
+        CacheRuntimeConfiguration<?, ?> users = configuration.unwrap(CacheRuntimeConfiguration.class);
+
+        // Then
+        assertThat(users.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(usersSize);
+        assertThat(users.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(EntryUnit.ENTRIES);
+    }
+
+    private double secondLevelCacheRequests(String region, String result) {
+        FunctionCounter counter = meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", region, "result", result)
+                .functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private double queryCacheRequests(String result) {
+        FunctionCounter counter = meterRegistry.find("hibernate.cache.query.requests")
+                .tags("result", result)
+                .functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,168 @@
+package com.openclassrooms.starterjwt.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.starterjwt.metrics.ServerTimingFilter;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.payload.request.LoginRequest;
+import com.openclassrooms.starterjwt.repository.SessionRepository;
+import com.openclassrooms.starterjwt.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests d'intégration de l'en-tête Server-Timing
+ *
+ * Activé par oc.app.serverTiming.enabled, le filtre détaille chaque requête :
+ * - Temps d'authentification JWT, nombre et durée des requêtes SQL
+ * - Temps de mapping et de sérialisation
+ * - Une ligne de journal d'accès structurée par requête
+ */
+@SpringBootTest(properties = {
+        "oc.app.serverTiming.enabled=true",
+        "logging.level.com.openclassrooms.starterjwt.metrics.ServerTimingFilter=INFO"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@ExtendWith(OutputCaptureExtension.class)
+@DisplayName("Server-Timing - Tests d'intégration")
+class ServerTimingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        // Nettoyage de la base avant chaque test
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+
+        userRepository.save(new User("yoga@studio.com", "Martin", "Sophie", passwordEncoder.encode("password123"), false));
+
+        Teacher teacher = teacherRepository.save(new Teacher()
+                .setFirstName("Marie")
+                .setLastName("Dubois")
+                .setCreatedAt(LocalDateTime.now())
+                .setUpdatedAt(LocalDateTime.now()));
+
+        session = sessionRepository.save(new Session()
+                .setName("Yoga Matinal")
+                .setDate(new Date())
+                .setDescription("Session de yoga du matin")
+                .setTeacher(teacher)
+                .setUsers(new ArrayList<>()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("GET /api/session/{id} - Devrait détailler authentification, SQL, mapping et sérialisation")
+    void authenticatedRequest_HasServerTiming() throws Exception {
+        // Given
+        String token = login();
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/session/{id}", session.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        String header = result.getResponse().getHeader(ServerTimingFilter.HEADER);
+        assertThat(header)
+                .startsWith("auth;dur=")
+                .containsPattern("db;dur=(?!0\\.00;)[0-9.]+;desc=\"[1-9][0-9]* queries\"")
+                .contains("mapping;dur=")
+                .contains("serialization;dur=")
+                .contains("total;dur=");
+    }
+
+    @Test
+    @DisplayName("Chaque requête produit une ligne de journal d'accès avec le modèle de chemin")
+    void request_WritesAccessLog(CapturedOutput output) throws Exception {
+        // Given
+        String token = login();
+
+        // When
+        mockMvc.perform(get("/api/session/{id}", session.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Then
+        assertThat(output.getOut()).containsPattern(
+                "Request method=GET uri=/api/session/\\{id} status=200 total_ms=[0-9.]+ auth_ms=[0-9.]+ db_count=[0-9]+ db_ms=[0-9.]+ mapping_ms=[0-9.]+ serialization_ms=[0-9.]+");
+    }
+
+    @Test
+    @DisplayName("Une réponse sans corps porte aussi l'en-tête")
+    void unauthorizedRequest_HasServerTiming() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/session/{id}", session.getId()))
+                .andExpect(status().isUnauthorized())
+                .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getHeader(ServerTimingFilter.HEADER)).contains("total;dur=");
+    }
+
+    private String login() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("yoga@studio.com");
+        loginRequest.setPassword("password123");
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+}
@@ -6,6 +6,7 @@ import com.openclassrooms.starterjwt.models.Session;
 import com.openclassrooms.starterjwt.models.Teacher;
 import com.openclassrooms.starterjwt.models.User;
 import com.openclassrooms.starterjwt.repository.SessionRepository;
+import com.openclassrooms.starterjwt.repository.SessionRepositoryCustom;
 import com.openclassrooms.starterjwt.repository.TeacherRepository;
 import com.openclassrooms.starterjwt.repository.UserRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -19,6 +20,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -185,6 +187,28 @@ class SessionControllerIntegrationTest {
         assert sessionRepository.count() == 2;
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("POST /api/session - Devrait retourner 400 avec les IDs d'utilisateurs inconnus")
+    void create_UnknownUserIds() throws Exception {
+        // Given - Session référençant des utilisateurs inexistants
+        SessionDto newSessionDto = new SessionDto();
+        newSessionDto.setName("Nouvelle session");
+        newSessionDto.setDate(new Date());
+        newSessionDto.setDescription("Description de la nouvelle session");
+        newSessionDto.setTeacher_id(teacher.getId());
+        newSessionDto.setUsers(Arrays.asList(999998L, 999999L));
+
+        // When & Then - Rejet explicite, rien n'est créé
+        mockMvc.perform(post("/api/session")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newSessionDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Error: Unknown user id(s): [999998, 999999]"));
+
+        assert sessionRepository.count() == 1;
+    }
+
     @Test
     @WithMockUser
     @DisplayName("PUT /api/session/{id} - Devrait mettre à jour une session")
@@ -252,9 +276,7 @@ class SessionControllerIntegrationTest {
                 .andExpect(status().isOk());
 
         // Vérification que l'utilisateur participe à la session
-        Session updatedSession = sessionRepository.findById(session.getId()).orElseThrow();
-        assert updatedSession.getUsers().size() == 1;
-        assert updatedSession.getUsers().get(0).getId().equals(user.getId());
+        assert sessionRepository.countParticipant(session.getId(), user.getId()) == 1;
     }
 
     @Test
@@ -271,8 +293,27 @@ class SessionControllerIntegrationTest {
                 .andExpect(status().isOk());
 
         // Vérification que l'utilisateur ne participe plus
-        Session updatedSession = sessionRepository.findById(session.getId()).orElseThrow();
-        assert updatedSession.getUsers().isEmpty();
+        assert sessionRepository.countParticipant(session.getId(), user.getId()) == 0;
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/session/{id}/participate/{userId} - Devrait indiquer si l'utilisateur participe")
+    void isParticipating_Success() throws Exception {
+        // Given - Aucun participant au départ
+        mockMvc.perform(get("/api/session/{id}/participate/{userId}", session.getId(), user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("false"));
+
+        // When - Ajout de l'utilisateur
+        sessionRepository.addParticipant(session.getId(), user.getId());
+
+        // Then
+        mockMvc.perform(get("/api/session/{id}/participate/{userId}", session.getId(), user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("true"));
+        mockMvc.perform(get("/api/session/{id}/participate/{userId}", 9999L, user.getId()))
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -294,4 +335,151 @@ class SessionControllerIntegrationTest {
                 session.getId(), "invalid"))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/session/export - Devrait diffuser le même JSON que la liste des sessions")
+    void export_StreamsSameJsonAsFindAll() throws Exception {
+        // Given - Une seconde session, sans participant
+        Session evening = new Session();
+        evening.setName("Yoga du soir");
+        evening.setDate(new Date());
+        evening.setDescription("Session de yoga du soir");
+        evening.setTeacher(teacher);
+        evening.setUsers(new ArrayList<>());
+        sessionRepository.save(evening);
+
+        String expected = mockMvc.perform(get("/api/session"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // When - La réponse est produite de façon asynchrone
+        MvcResult result = mockMvc.perform(get("/api/session/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then - Même contenu, sans les IDs des participants
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(expected, true))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].users").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/session?fields= - Devrait ne retourner que les champs demandés")
+    void findAll_SparseFields() throws Exception {
+        // When & Then - Sélection de quelques champs seulement
+        mockMvc.perform(get("/api/session").param("fields", "id,name,teacher_id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(session.getId()))
+                .andExpect(jsonPath("$[0].name").value("Yoga Matinal"))
+                .andExpect(jsonPath("$[0].teacher_id").value(teacher.getId()))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].users").doesNotExist())
+                .andExpect(jsonPath("$[0].date").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/session?fields=users - Devrait retourner la liste des participants si demandée")
+    void findAll_SparseFieldsWithUsers() throws Exception {
+        // Given
+        session.getUsers().add(user);
+        sessionRepository.save(session);
+
+        // When & Then
+        mockMvc.perform(get("/api/session").param("fields", "id,users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(session.getId()))
+                .andExpect(jsonPath("$[0].users[0]").value(user.getId()))
+                .andExpect(jsonPath("$[0].name").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/session?fields= - Devrait retourner 400 pour un champ inconnu")
+    void findAll_SparseFieldsUnknownField() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/session").param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/session?fields= - Chaque champ sélectionnable devrait être projeté")
+    void findAll_SparseFieldsAllSelectable() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/session").param("fields", String.join(",", SessionRepositoryCustom.PROJECTABLE_FIELDS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(session.getId()))
+                .andExpect(jsonPath("$[0].participantCount").value(0))
+                .andExpect(jsonPath("$[0].users").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/session/{id} - Ne devrait pas embarquer les participants par défaut")
+    void findById_WithoutEmbeddedUsers() throws Exception {
+        // Given
+        session.getUsers().add(user);
+        sessionRepository.save(session);
+
+        // When & Then - Seul le nombre de participants est retourné
+        mockMvc.perform(get("/api/session/{id}", session.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users").doesNotExist())
+                .andExpect(jsonPath("$.participantCount").exists());
+
+        // Opt-in explicite de la liste complète
+        mockMvc.perform(get("/api/session/{id}", session.getId()).param("embed", "users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users", hasSize(1)))
+                .andExpect(jsonPath("$.users[0]").value(user.getId()));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/session/{id}/participants - Devrait paginer les participants par curseur")
+    void findParticipants_KeysetPaging() throws Exception {
+        // Given - Trois participants
+        for (int i = 0; i < 2; i++) {
+            User other = new User();
+            other.setEmail("other" + i + "@example.com");
+            other.setFirstName("Other");
+            other.setLastName("User");
+            other.setPassword("password");
+            session.getUsers().add(userRepository.save(other));
+        }
+        session.getUsers().add(user);
+        sessionRepository.save(session);
+        Long[] ids = session.getUsers().stream().map(User::getId).sorted().toArray(Long[]::new);
+
+        // When & Then - Première page
+        mockMvc.perform(get("/api/session/{id}/participants", session.getId()).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.participants", hasSize(2)))
+                .andExpect(jsonPath("$.participants[0].id").value(ids[0]))
+                .andExpect(jsonPath("$.participants[0].password").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(ids[1]));
+
+        // Page suivante à partir du curseur
+        mockMvc.perform(get("/api/session/{id}/participants", session.getId())
+                        .param("size", "2").param("cursor", String.valueOf(ids[1])))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.participants", hasSize(1)))
+                .andExpect(jsonPath("$.participants[0].id").value(ids[2]))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/session/{id}/participants - Devrait retourner 404 pour une session inexistante")
+    void findParticipants_NotFound() throws Exception {
+        mockMvc.perform(get("/api/session/{id}/participants", 9999L))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -217,7 +217,7 @@ class SessionServiceIntegrationTest {
         sessionService.participate(testSession.getId(), testUser.getId());
 
         // Then - Vérifier que l'utilisateur est bien ajouté
-        Session updatedSession = sessionRepository.findById(testSession.getId()).orElse(null);
+        Session updatedSession = sessionService.getByIdWithUsers(testSession.getId());
         assertThat(updatedSession).isNotNull();
         assertThat(updatedSession.getUsers()).hasSize(1);
         assertThat(updatedSession.getUsers().get(0).getId()).isEqualTo(testUser.getId());
@@ -257,14 +257,14 @@ class SessionServiceIntegrationTest {
         sessionService.participate(testSession.getId(), testUser.getId());
         
         // Vérifier que l'utilisateur participe
-        Session sessionBefore = sessionRepository.findById(testSession.getId()).orElse(null);
+        Session sessionBefore = sessionService.getByIdWithUsers(testSession.getId());
         assertThat(sessionBefore.getUsers()).hasSize(1);
 
         // When - Retrait de la participation
         sessionService.noLongerParticipate(testSession.getId(), testUser.getId());
 
         // Then - Vérifier que l'utilisateur n'est plus dans la session
-        Session sessionAfter = sessionRepository.findById(testSession.getId()).orElse(null);
+        Session sessionAfter = sessionService.getByIdWithUsers(testSession.getId());
         assertThat(sessionAfter).isNotNull();
         assertThat(sessionAfter.getUsers()).isEmpty();
     }
@@ -304,7 +304,7 @@ class SessionServiceIntegrationTest {
         sessionService.participate(testSession.getId(), user2.getId());
 
         // Then - Vérifier que les deux utilisateurs participent
-        Session updatedSession = sessionRepository.findById(testSession.getId()).orElse(null);
+        Session updatedSession = sessionService.getByIdWithUsers(testSession.getId());
         assertThat(updatedSession).isNotNull();
         assertThat(updatedSession.getUsers()).hasSize(2);
         assertThat(updatedSession.getUsers())
@@ -327,7 +327,7 @@ class SessionServiceIntegrationTest {
 
         // 2. Ajouter un participant
         sessionService.participate(created.getId(), testUser.getId());
-        Session withParticipant = sessionService.getById(created.getId());
+        Session withParticipant = sessionService.getByIdWithUsers(created.getId());
         assertThat(withParticipant.getUsers()).hasSize(1);
 
         // 3. Mettre à jour la session
@@ -342,7 +342,7 @@ class SessionServiceIntegrationTest {
 
         // 4. Retirer le participant
         sessionService.noLongerParticipate(created.getId(), testUser.getId());
-        Session withoutParticipant = sessionService.getById(created.getId());
+        Session withoutParticipant = sessionService.getByIdWithUsers(created.getId());
         assertThat(withoutParticipant.getUsers()).isEmpty();
 
         // 5. Supprimer la session
@@ -0,0 +1,56 @@
+package com.openclassrooms.starterjwt.integration;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Budget de requêtes SQL par appel, pour détecter les N+1.
+ *
+ * S'enregistre avec {@code @RegisterExtension} ; chaque appel mesuré passe par
+ * {@link SqlRecorder}. Quand le budget est dépassé, le message liste les requêtes
+ * regroupées avec leur nombre d'exécutions : une même requête répétée à chaque
+ * ligne désigne le N+1.
+ */
+public class SqlBudget implements AfterEachCallback {
+
+    public <T> T atMost(int maxStatements, String label, ThrowingSupplier<T> call) throws Throwable {
+        SqlRecorder.start();
+        T result;
+        try {
+            result = call.get();
+        } finally {
+            List<String> statements = SqlRecorder.stop();
+            if (statements.size() > maxStatements) {
+                fail(report(label, maxStatements, statements));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        SqlRecorder.stop();
+    }
+
+    static String report(String label, int maxStatements, List<String> statements) {
+        Map<String, Integer> executions = new LinkedHashMap<>();
+        for (String statement : statements) {
+            executions.merge(statement.replaceAll("\\s+", " ").trim(), 1, Integer::sum);
+        }
+
+        StringBuilder report = new StringBuilder()
+                .append(label).append(" : ").append(statements.size())
+                .append(" requêtes SQL pour un budget de ").append(maxStatements);
+        executions.forEach((sql, times) -> {
+            report.append(System.lineSeparator()).append(times > 1 ? "  [N+1 x" + times + "] " : "  ").append(sql);
+        });
+        return report.toString();
+    }
+}
@@ -0,0 +1,237 @@
+package com.openclassrooms.starterjwt.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.starterjwt.dto.SessionDto;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.repository.SessionRepository;
+import com.openclassrooms.starterjwt.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.repository.UserRepository;
+import com.openclassrooms.starterjwt.services.TeacherCatalog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests d'intégration des budgets de requêtes SQL
+ *
+ * Chaque appel HTTP est mesuré avec un cache de second niveau vide :
+ * - Le nombre de requêtes ne dépend pas du nombre de participants
+ * - Les collections chargées en lot coûtent une requête par lot de
+ *   hibernate.default_batch_fetch_size (100) sessions, soit 1 + ⌈n/100⌉ requêtes pour n sessions
+ * - Un N+1 (chargement EAGER ligne par ligne, recherche par identifiant) fait échouer le build
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+@DisplayName("Budgets de requêtes SQL - Tests d'intégration")
+class SqlBudgetIntegrationTest {
+
+    @RegisterExtension
+    SqlBudget sqlBudget = new SqlBudget();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeacherCatalog teacherCatalog;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${spring.jpa.properties.hibernate.default_batch_fetch_size}")
+    private int batchFetchSize;
+
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        // Nettoyage de la base avant chaque test
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+
+        users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(userRepository.save(new User("yogi" + i + "@test.com", "Nom" + i, "Prenom" + i, "password123", false)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25, 250})
+    @DisplayName("GET /api/session - Une seule requête quel que soit le nombre de sessions")
+    void findAll_StaysWithinBudget(int sessions) throws Throwable {
+        // Given
+        createSessions(sessions);
+
+        // When & Then
+        sqlBudget.atMost(1, "GET /api/session", () -> mockMvc.perform(get("/api/session"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(sessions))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25, 100, 250})
+    @DisplayName("GET /api/session?embed=users - Au plus 1 + ⌈n/100⌉ requêtes pour n sessions")
+    void findAllWithUsers_StaysWithinBudget(int sessions) throws Throwable {
+        // Given
+        createSessions(sessions);
+
+        // When & Then - Sessions et professeurs (1), puis participants par lots de batchFetchSize sessions
+        int batches = (sessions + batchFetchSize - 1) / batchFetchSize;
+        sqlBudget.atMost(1 + batches, "GET /api/session?embed=users", () -> mockMvc.perform(get("/api/session").param("embed", "users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].users", hasSize(users.size()))));
+    }
+
+    @Test
+    @DisplayName("GET /api/session/{id} - Une seule requête")
+    void findById_StaysWithinBudget() throws Throwable {
+        // Given
+        Session session = createSessions(1).get(0);
+
+        // When & Then
+        sqlBudget.atMost(1, "GET /api/session/{id}", () -> mockMvc.perform(get("/api/session/{id}", session.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("GET /api/session et /api/session/{id} - Les participants ne sont pas chargés sans embed=users")
+    void summaries_DoNotLoadParticipants() throws Exception {
+        // Given
+        Session session = createSessions(3).get(0);
+
+        // When
+        SqlRecorder.start();
+        mockMvc.perform(get("/api/session")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/session/{id}", session.getId())).andExpect(status().isOk());
+        List<String> statements = SqlRecorder.stop();
+
+        // Then
+        assertThat(statements)
+                .isNotEmpty()
+                .noneMatch(sql -> sql.toUpperCase().contains("PARTICIPATE"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    @DisplayName("POST /api/session - Le nombre de requêtes ne dépend pas du nombre de participants")
+    void create_StaysWithinBudget(int participants) throws Throwable {
+        // Given
+        Teacher teacher = createTeacher(0);
+        teacherCatalog.snapshot();
+        SessionDto sessionDto = new SessionDto();
+        sessionDto.setName("Yoga du Soir");
+        sessionDto.setDate(new Date());
+        sessionDto.setDescription("Session de yoga du soir");
+        sessionDto.setTeacher_id(teacher.getId());
+        sessionDto.setUsers(users.stream().limit(participants).map(User::getId).collect(Collectors.toList()));
+        entityManagerFactory.getCache().evictAll();
+
+        // When & Then - Utilisateurs (1), session (1), participations en lot (1), compteurs session/professeur/semaine (3 x 3)
+        sqlBudget.atMost(12, "POST /api/session", () -> mockMvc.perform(post("/api/session")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sessionDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users", hasSize(participants))));
+    }
+
+    @Test
+    @DisplayName("Un chargement ligne par ligne dépasse le budget et liste la requête répétée")
+    void perRowLookup_ExceedsBudget() {
+        // Given
+        List<Long> ids = createSessions(5).stream().map(Session::getId).collect(Collectors.toList());
+
+        // When & Then
+        assertThatThrownBy(() -> sqlBudget.atMost(2, "Recherche par identifiant",
+                () -> ids.stream().map(sessionRepository::findById).collect(Collectors.toList())))
+                .isInstanceOf(AssertionFailedError.class)
+                .hasMessageContaining("5 requêtes SQL pour un budget de 2")
+                .hasMessageContaining("[N+1 x5]");
+    }
+
+    @Test
+    @DisplayName("Le rapport regroupe les requêtes identiques")
+    void report_GroupsRepeatedStatements() {
+        // When
+        String report = SqlBudget.report("GET /api/test", 1, Arrays.asList("select 1", "select\n  2", "select 2"));
+
+        // Then
+        assertThat(report)
+                .startsWith("GET /api/test : 3 requêtes SQL pour un budget de 1")
+                .contains("  select 1")
+                .contains("  [N+1 x2] select 2");
+    }
+
+    private List<Session> createSessions(int count) {
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            sessions.add(sessionRepository.save(new Session()
+                    .setName("Session " + i)
+                    .setDate(new Date())
+                    .setDescription("Description " + i)
+                    .setTeacher(createTeacher(i))
+                    .setUsers(new ArrayList<>(users))));
+        }
+        entityManagerFactory.getCache().evictAll();
+        return sessions;
+    }
+
+    private Teacher createTeacher(int index) {
+        return teacherRepository.save(new Teacher()
+                .setFirstName("Prenom" + index)
+                .setLastName("Nom" + index)
+                .setCreatedAt(LocalDateTime.now())
+                .setUpdatedAt(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.openclassrooms.starterjwt.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Enregistre les requêtes SQL générées par Hibernate pendant les tests.
+ *
+ * Déclaré dans application-test.properties ; n'enregistre rien tant que
+ * {@link #start()} n'a pas été appelé. Les requêtes exécutées hors de toute
+ * transaction Spring (chargement paresseux après la fin du service...) sont
+ * aussi conservées à part.
+ */
+public class SqlRecorder implements StatementInspector {
+
+    private static final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+    private static final List<String> outsideTransaction = Collections.synchronizedList(new ArrayList<>());
+
+    private static volatile boolean recording;
+
+    public static void start() {
+        statements.clear();
+        outsideTransaction.clear();
+        recording = true;
+    }
+
+    public static List<String> stop() {
+        recording = false;
+        synchronized (statements) {
+            return new ArrayList<>(statements);
+        }
+    }
+
+    public static List<String> recorded() {
+        synchronized (statements) {
+            return new ArrayList<>(statements);
+        }
+    }
+
+    public static List<String> outsideTransaction() {
+        synchronized (outsideTransaction) {
+            return new ArrayList<>(outsideTransaction);
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (recording) {
+            statements.add(sql);
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                outsideTransaction.add(sql);
+            }
+        }
+        return sql;
+    }
+}
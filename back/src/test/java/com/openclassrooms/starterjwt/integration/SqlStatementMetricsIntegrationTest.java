@@ -0,0 +1,131 @@
+package com.openclassrooms.starterjwt.integration;
+
+import com.openclassrooms.starterjwt.datasource.SqlStatementListener;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.repository.SessionRepository;
+import com.openclassrooms.starterjwt.repository.TeacherRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests d'intégration des métriques SQL
+ *
+ * Chaque requête JDBC passe par datasource-proxy :
+ * - Un timer db.statement par requête normalisée, précis à la nanoseconde, avec ses seuils d'histogramme
+ * - Un endpoint actuator qui associe chaque identifiant à sa requête
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Métriques SQL - Tests d'intégration")
+class SqlStatementMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Nettoyage de la base avant chaque test
+        sessionRepository.deleteAll();
+        teacherRepository.deleteAll();
+
+        Teacher teacher = teacherRepository.save(new Teacher()
+                .setFirstName("Marie")
+                .setLastName("Dubois")
+                .setCreatedAt(LocalDateTime.now())
+                .setUpdatedAt(LocalDateTime.now()));
+
+        sessionRepository.save(new Session()
+                .setName("Yoga Matinal")
+                .setDate(new Date())
+                .setDescription("Session de yoga du matin")
+                .setTeacher(teacher)
+                .setUsers(new ArrayList<>()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("La liste des sessions alimente le timer et l'histogramme de la requête sur SESSIONS")
+    void findAll_RecordsStatementTimer() throws Exception {
+        // Given
+        double before = sessionSelects();
+        double timeBefore = sessionSelectTime();
+
+        // When
+        mockMvc.perform(get("/api/session")).andExpect(status().isOk());
+
+        // Then
+        assertThat(sessionSelects()).isGreaterThan(before);
+        assertThat(sessionSelectTime()).isGreaterThan(timeBefore);
+        assertThat(meterRegistry.find(SqlStatementListener.METER).tags("table", "SESSIONS").timers())
+                .allSatisfy(timer -> assertThat(timer.takeSnapshot().histogramCounts()).hasSize(6));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /actuator/sqlstatements - Devrait lister les requêtes normalisées")
+    void sqlStatementsEndpoint_ListsStatements() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/session")).andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/actuator/sqlstatements"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].table", hasItem("SESSIONS")))
+                .andExpect(jsonPath("$[0].id").isString())
+                .andExpect(jsonPath("$[0].count").isNumber());
+    }
+
+    private double sessionSelectTime() {
+        return meterRegistry.find(SqlStatementListener.METER)
+                .tags("operation", "select", "table", "SESSIONS")
+                .timers().stream()
+                .mapToDouble(timer -> timer.totalTime(TimeUnit.NANOSECONDS))
+                .sum();
+    }
+
+    private double sessionSelects() {
+        return meterRegistry.find(SqlStatementListener.METER)
+                .tags("operation", "select", "table", "SESSIONS")
+                .timers().stream()
+                .mapToDouble(Timer::count)
+                .sum();
+    }
+}
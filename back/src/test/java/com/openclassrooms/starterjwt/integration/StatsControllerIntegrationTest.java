@@ -0,0 +1,225 @@
+package com.openclassrooms.starterjwt.integration;
+
+import com.openclassrooms.starterjwt.dto.AttendanceStatsDto;
+import com.openclassrooms.starterjwt.models.AttendanceCounter;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.repository.AttendanceCounterRepository;
+import com.openclassrooms.starterjwt.repository.SessionRepository;
+import com.openclassrooms.starterjwt.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.repository.UserRepository;
+import com.openclassrooms.starterjwt.services.AttendanceReconciliationService;
+import com.openclassrooms.starterjwt.services.AttendanceStatsService;
+import com.openclassrooms.starterjwt.services.SessionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests d'intégration pour StatsController
+ * 
+ * Ces tests vérifient que les statistiques de fréquentation :
+ * - Sont maintenues par participate / noLongerParticipate / delete
+ * - Sont créées sans conflit par des premières participations concurrentes
+ * - Sont servies par GET /api/stats/attendance à partir des compteurs
+ * - Sont réparées par le job de réconciliation en cas de dérive
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("StatsController - Tests d'intégration")
+class StatsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AttendanceCounterRepository attendanceCounterRepository;
+
+    @Autowired
+    private AttendanceReconciliationService attendanceReconciliationService;
+
+    @Autowired
+    private AttendanceStatsService attendanceStatsService;
+
+    @Autowired
+    private SessionService sessionService;
+
+    private Teacher teacher;
+    private User user;
+    private Session session;
+    private String week;
+
+    @BeforeEach
+    void setUp() {
+        // Nettoyage de la base avant chaque test
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+        attendanceCounterRepository.deleteAll();
+
+        teacher = new Teacher();
+        teacher.setFirstName("Marie");
+        teacher.setLastName("Dubois");
+        teacher = teacherRepository.save(teacher);
+
+        user = new User();
+        user.setEmail("user@example.com");
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setPassword("password");
+        user.setAdmin(false);
+        user = userRepository.save(user);
+
+        session = new Session();
+        session.setName("Yoga Matinal");
+        session.setDate(new Date());
+        session.setDescription("Session de yoga du matin");
+        session.setTeacher(teacher);
+        session.setUsers(new ArrayList<>());
+        session = sessionRepository.save(session);
+
+        week = AttendanceStatsService.weekLabel(AttendanceStatsService.weekKey(session.getDate()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+        attendanceCounterRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/stats/attendance - Devrait refléter les participations")
+    void attendance_AfterParticipate() throws Exception {
+        // Given - Participation à la session
+        mockMvc.perform(post("/api/session/{id}/participate/{userId}", session.getId(), user.getId()))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/api/stats/attendance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessions['" + session.getId() + "']").value(1))
+                .andExpect(jsonPath("$.teachers['" + teacher.getId() + "']").value(1))
+                .andExpect(jsonPath("$.weeks['" + week + "']").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/stats/attendance - Devrait décrémenter après désinscription et suppression")
+    void attendance_AfterNoLongerParticipateAndDelete() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/session/{id}/participate/{userId}", session.getId(), user.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/session/{id}/participate/{userId}", session.getId(), user.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/session/{id}/participate/{userId}", session.getId(), user.getId()))
+                .andExpect(status().isOk());
+
+        // When - Suppression de la session
+        mockMvc.perform(delete("/api/session/{id}", session.getId()))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/stats/attendance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessions['" + session.getId() + "']").doesNotExist())
+                .andExpect(jsonPath("$.teachers['" + teacher.getId() + "']").value(0));
+    }
+
+    @Test
+    @DisplayName("Premières participations concurrentes - Devraient créer les compteurs sans conflit")
+    void participate_ConcurrentFirstIncrements() throws Exception {
+        // Given - Plusieurs sessions du même professeur la même semaine, sans compteur existant
+        int participants = 16;
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < participants; i++) {
+            sessions.add(sessionRepository.save(new Session()
+                    .setName("Yoga " + i)
+                    .setDate(session.getDate())
+                    .setDescription("Session concurrente")
+                    .setTeacher(teacher)
+                    .setUsers(new ArrayList<>())));
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(participants);
+
+        // When
+        List<Future<?>> enrollments = new ArrayList<>();
+        for (Session concurrent : sessions) {
+            enrollments.add(executor.submit(() -> {
+                start.await();
+                sessionService.participate(concurrent.getId(), user.getId());
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> enrollment : enrollments) {
+                enrollment.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        AttendanceStatsDto stats = attendanceStatsService.getStats();
+        assertThat(stats.getTeachers()).containsEntry(teacher.getId(), (long) participants);
+        assertThat(stats.getWeeks()).containsEntry(week, (long) participants);
+        assertThat(attendanceReconciliationService.reconcile()).isZero();
+    }
+
+    @Test
+    @DisplayName("Réconciliation - Devrait réparer les compteurs ayant dérivé")
+    void reconcile_RepairsDrift() {
+        // Given - Participation enregistrée sans passer par le service
+        session.getUsers().add(user);
+        sessionRepository.save(session);
+        attendanceCounterRepository.save(new AttendanceCounter(AttendanceCounter.Scope.TEACHER, teacher.getId(), 0, 5));
+
+        // When
+        int repaired = attendanceReconciliationService.reconcile();
+
+        // Then
+        assertThat(repaired).isEqualTo(3);
+        assertThat(sessionRepository.findById(session.getId()))
+                .hasValueSatisfying(reloaded -> assertThat(reloaded.getParticipantCount()).isEqualTo(1));
+        assertThat(attendanceCounterRepository.findAll().stream()
+                .filter(counter -> counter.getScope() == AttendanceCounter.Scope.TEACHER)
+                .mapToLong(AttendanceCounter::getParticipants)
+                .sum()).isEqualTo(1);
+        assertThat(attendanceReconciliationService.reconcile()).isZero();
+    }
+}
@@ -1,6 +1,8 @@
 package com.openclassrooms.starterjwt.integration;
 
+import com.openclassrooms.starterjwt.models.Session;
 import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.repository.SessionRepository;
 import com.openclassrooms.starterjwt.repository.TeacherRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,12 +11,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.StreamUtils;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,12 +50,19 @@ class TeacherControllerIntegrationTest {
     @Autowired
     private TeacherRepository teacherRepository;
 
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Teacher teacher1;
     private Teacher teacher2;
 
     @BeforeEach
     void setUp() {
         // Nettoyage de la base avant chaque test
+        sessionRepository.deleteAll();
         teacherRepository.deleteAll();
 
         // Création de professeurs de test
@@ -64,6 +83,7 @@ class TeacherControllerIntegrationTest {
 
     @AfterEach
     void tearDown() {
+        sessionRepository.deleteAll();
         teacherRepository.deleteAll();
     }
 
@@ -137,4 +157,136 @@ class TeacherControllerIntegrationTest {
                 .andExpect(jsonPath("$.createdAt").exists())
                 .andExpect(jsonPath("$.updatedAt").exists());
     }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/teacher - Devrait retourner 304 quand l'ETag n'a pas changé")
+    void findAll_NotModified() throws Exception {
+        // Given - Premier appel pour récupérer l'ETag
+        String etag = mockMvc.perform(get("/api/teacher"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then - Requête conditionnelle
+        mockMvc.perform(get("/api/teacher").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/teacher - Devrait servir la variante gzip")
+    void findAll_Gzip() throws Exception {
+        // When
+        byte[] body = mockMvc.perform(get("/api/teacher").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then - Le contenu décompressé est la liste des professeurs
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String json = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+            assertThat(json).contains("\"firstName\":\"Marie\"").contains("\"firstName\":\"Pierre\"");
+        }
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/teacher - Devrait refléter un professeur ajouté après le chargement du catalogue")
+    void findAll_RefreshedAfterChange() throws Exception {
+        // Given - Catalogue chargé
+        String etag = mockMvc.perform(get("/api/teacher"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Teacher teacher3 = new Teacher();
+        teacher3.setFirstName("Anne");
+        teacher3.setLastName("Petit");
+        teacher3.setCreatedAt(LocalDateTime.now());
+        teacher3.setUpdatedAt(LocalDateTime.now());
+        teacher3 = teacherRepository.save(teacher3);
+
+        // When & Then - Le nouveau snapshot remplace l'ancien
+        mockMvc.perform(get("/api/teacher").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)));
+        mockMvc.perform(get("/api/teacher/{id}", teacher3.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Anne"));
+    }
+
+    private Session createSession(String name, Teacher teacher, LocalDate day) {
+        Session session = new Session();
+        session.setName(name);
+        session.setDescription("Description");
+        session.setDate(Date.from(day.atTime(10, 0).atZone(ZoneId.systemDefault()).toInstant()));
+        session.setTeacher(teacher);
+        return sessionRepository.save(session);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/teacher/{id}/sessions - Devrait retourner les prochaines séances du professeur, paginées")
+    void findSessions_Upcoming() throws Exception {
+        // Given - Une séance passée, deux à venir et une d'un autre professeur
+        LocalDate today = LocalDate.now();
+        createSession("Passée", teacher1, today.minusDays(1));
+        createSession("Demain", teacher1, today.plusDays(1));
+        createSession("Dans dix jours", teacher1, today.plusDays(10));
+        createSession("Autre professeur", teacher2, today.plusDays(1));
+
+        // When & Then - Première page d'une séance, triée par date
+        mockMvc.perform(get("/api/teacher/{id}/sessions", teacher1.getId()).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessions", hasSize(1)))
+                .andExpect(jsonPath("$.sessions[0].name").value("Demain"))
+                .andExpect(jsonPath("$.sessions[0].users").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(2));
+
+        // Page suivante
+        mockMvc.perform(get("/api/teacher/{id}/sessions", teacher1.getId()).param("size", "1").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessions[0].name").value("Dans dix jours"));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/teacher/{id}/sessions - Devrait filtrer sur la plage from/to incluse")
+    void findSessions_Range() throws Exception {
+        // Given
+        LocalDate today = LocalDate.now();
+        createSession("Passée", teacher1, today.minusDays(1));
+        createSession("Demain", teacher1, today.plusDays(1));
+        createSession("Dans dix jours", teacher1, today.plusDays(10));
+
+        // When & Then
+        mockMvc.perform(get("/api/teacher/{id}/sessions", teacher1.getId())
+                        .param("from", today.minusDays(1).toString())
+                        .param("to", today.plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessions", hasSize(2)))
+                .andExpect(jsonPath("$.sessions[0].name").value("Passée"))
+                .andExpect(jsonPath("$.sessions[1].name").value("Demain"));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/teacher/{id}/sessions - Devrait retourner 404 pour un professeur inexistant")
+    void findSessions_UnknownTeacher() throws Exception {
+        mockMvc.perform(get("/api/teacher/{id}/sessions", 9999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("SESSIONS - Devrait disposer d'un index sur (teacher_id, date)")
+    void sessionsTeacherDateIndex_Exists() {
+        // When - Lecture du schéma H2 généré depuis les entités
+        Integer columns = jdbcTemplate.queryForObject(
+                "select count(*) from INFORMATION_SCHEMA.INDEX_COLUMNS where INDEX_NAME = 'IDX_SESSIONS_TEACHER_DATE'",
+                Integer.class);
+
+        // Then - Index composite sur deux colonnes
+        assertThat(columns).isEqualTo(2);
+    }
 }
@@ -0,0 +1,207 @@
+package com.openclassrooms.starterjwt.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.starterjwt.dto.SessionDto;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.payload.request.LoginRequest;
+import com.openclassrooms.starterjwt.payload.request.SignupRequest;
+import com.openclassrooms.starterjwt.repository.SessionRepository;
+import com.openclassrooms.starterjwt.repository.TeacherRepository;
+import com.openclassrooms.starterjwt.repository.UserRepository;
+import com.openclassrooms.starterjwt.services.TeacherCatalog;
+import com.openclassrooms.starterjwt.services.TeacherService;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests d'intégration des frontières transactionnelles
+ *
+ * Open-Session-In-View est désactivé : la connexion n'est tenue que pendant les
+ * transactions des services. Ces tests valident que :
+ * - Aucune requête SQL n'est exécutée hors transaction en parcourant toute l'API
+ * - Un chargement paresseux hors transaction échoue au lieu d'ouvrir une connexion
+ *
+ * Objectif : faire échouer le build si un chargement paresseux a lieu hors transaction
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Frontières transactionnelles - Tests d'intégration")
+class TransactionBoundaryIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private TeacherCatalog teacherCatalog;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Teacher teacher;
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        // Nettoyage de la base avant chaque test
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+
+        teacher = teacherRepository.save(new Teacher()
+                .setFirstName("Marie")
+                .setLastName("Dubois")
+                .setCreatedAt(LocalDateTime.now())
+                .setUpdatedAt(LocalDateTime.now()));
+
+        session = sessionRepository.save(new Session()
+                .setName("Yoga Matinal")
+                .setDate(new Date())
+                .setDescription("Session de yoga du matin")
+                .setTeacher(teacher)
+                .setUsers(new ArrayList<>()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlRecorder.stop();
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Open-Session-In-View est désactivé")
+    void openEntityManagerInView_IsDisabled() {
+        // Then
+        assertThat(applicationContext.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Un chargement paresseux hors transaction échoue")
+    void lazyLoadingOutsideTransaction_Fails() {
+        // Given - Catalogue à jour et cache de second niveau vide : la référence est un proxy non initialisé
+        teacherCatalog.snapshot();
+        entityManagerFactory.getCache().evict(Teacher.class);
+        Teacher reference = teacherService.getReference(teacher.getId());
+
+        // When / Then
+        assertThat(reference.getId()).isEqualTo(teacher.getId());
+        assertThatThrownBy(reference::getLastName).isInstanceOf(LazyInitializationException.class);
+    }
+
+    @Test
+    @DisplayName("Aucune requête SQL n'est exécutée hors transaction sur l'ensemble de l'API")
+    void api_RunsNoSqlOutsideTransactions() throws Exception {
+        // Given
+        SqlRecorder.start();
+        SignupRequest signupRequest = new SignupRequest();
+        signupRequest.setEmail("user@example.com");
+        signupRequest.setFirstName("John");
+        signupRequest.setLastName("Doe");
+        signupRequest.setPassword("password123");
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("user@example.com");
+        loginRequest.setPassword("password123");
+        String login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(login).get("token").asText();
+        Long userId = objectMapper.readTree(login).get("id").asLong();
+
+        SessionDto sessionDto = new SessionDto();
+        sessionDto.setName("Nouvelle session");
+        sessionDto.setDate(new Date());
+        sessionDto.setDescription("Description de la nouvelle session");
+        sessionDto.setTeacher_id(teacher.getId());
+        sessionDto.setUsers(new ArrayList<>());
+        String body = objectMapper.writeValueAsString(sessionDto);
+
+        // When
+        perform(get("/api/session"), token);
+        perform(get("/api/session").param("embed", "users"), token);
+        perform(get("/api/session").param("fields", "id,name"), token);
+        perform(get("/api/session/{id}", session.getId()), token);
+        perform(get("/api/session/{id}", session.getId()).param("embed", "users"), token);
+        perform(get("/api/session/{id}/participants", session.getId()), token);
+        MvcResult export = mockMvc.perform(authenticated(get("/api/session/export"), token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(export)).andExpect(status().isOk());
+        perform(post("/api/session").contentType(MediaType.APPLICATION_JSON).content(body), token);
+        perform(put("/api/session/{id}", session.getId()).contentType(MediaType.APPLICATION_JSON).content(body), token);
+        perform(post("/api/session/{id}/participate/{userId}", session.getId(), userId), token);
+        perform(delete("/api/session/{id}/participate/{userId}", session.getId(), userId), token);
+        perform(get("/api/teacher"), token);
+        perform(get("/api/teacher/{id}", teacher.getId()), token);
+        perform(get("/api/teacher/{id}/sessions", teacher.getId()), token);
+        perform(get("/api/stats/attendance"), token);
+        perform(get("/api/user/{id}", userId), token);
+        perform(get("/api/user/{id}", userId).param("fields", "id,email"), token);
+        perform(delete("/api/session/{id}", session.getId()), token);
+        perform(delete("/api/user/{id}", userId), token);
+
+        // Then
+        assertThat(SqlRecorder.stop()).isNotEmpty();
+        assertThat(SqlRecorder.outsideTransaction()).isEmpty();
+    }
+
+    private void perform(MockHttpServletRequestBuilder request, String token) throws Exception {
+        mockMvc.perform(authenticated(request, token)).andExpect(status().is2xxSuccessful());
+    }
+
+    private static MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request, String token) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+}
@@ -2,6 +2,7 @@ package com.openclassrooms.starterjwt.integration;
 
 import com.openclassrooms.starterjwt.models.User;
 import com.openclassrooms.starterjwt.repository.UserRepository;
+import com.openclassrooms.starterjwt.repository.UserRepositoryCustom;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -165,4 +166,47 @@ class UserControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.password").doesNotExist());
     }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/user/{id}?fields= - Devrait ne retourner que les champs demandés")
+    void findById_SparseFields() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/user/{id}", user.getId()).param("fields", "id,firstName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(user.getId()))
+                .andExpect(jsonPath("$.firstName").value("John"))
+                .andExpect(jsonPath("$.email").doesNotExist())
+                .andExpect(jsonPath("$.lastName").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/user/{id}?fields= - Chaque champ sélectionnable devrait être projeté")
+    void findById_SparseFieldsAllSelectable() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/user/{id}", user.getId()).param("fields", String.join(",", UserRepositoryCustom.PROJECTABLE_FIELDS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(user.getId()))
+                .andExpect(jsonPath("$.admin").value(false))
+                .andExpect(jsonPath("$.password").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/user/{id}?fields= - Devrait retourner 404 pour un utilisateur inexistant")
+    void findById_SparseFieldsNotFound() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/user/{id}", 9999L).param("fields", "id,email"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /api/user/{id}?fields=password - Devrait refuser un champ non exposé")
+    void findById_SparseFieldsPassword() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/user/{id}", user.getId()).param("fields", "password"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -14,6 +14,7 @@ import org.springframework.test.context.ActiveProfiles;
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
@@ -104,9 +105,8 @@ class UserServiceIntegrationTest {
     @Test
     @DisplayName("delete() - Devrait gérer la suppression d'un utilisateur inexistant sans erreur")
     void delete_NonExistingUser_ShouldNotThrowException() {
-        // When & Then - Suppression d'un ID inexistant devrait lever une exception
-        assertThatThrownBy(() -> userService.delete(999L))
-                .isInstanceOf(Exception.class);
+        // When & Then - Depuis Spring Data 3, deleteById ignore un ID inexistant
+        assertThatCode(() -> userService.delete(999L)).doesNotThrowAnyException();
     }
 
     @Test
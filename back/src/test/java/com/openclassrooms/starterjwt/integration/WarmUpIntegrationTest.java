@@ -0,0 +1,87 @@
+package com.openclassrooms.starterjwt.integration;
+
+import com.openclassrooms.starterjwt.startup.WarmUpRunner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests d'intégration de la préchauffe JIT
+ *
+ * Ces tests valident que :
+ * - La préchauffe s'arrête au nombre d'itérations configuré
+ * - L'application n'accepte le trafic (sonde readiness) qu'une fois la préchauffe terminée
+ * - Les sondes répondent sans jeton, comme les appelle le kubelet
+ */
+@SpringBootTest(properties = {
+        "oc.app.warmUp.enabled=true",
+        "oc.app.warmUp.iterations=20",
+        "oc.app.warmUp.duration=1m"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(WarmUpIntegrationTest.ReadinessRecorder.class)
+@DisplayName("Préchauffe JIT - Tests d'intégration")
+class WarmUpIntegrationTest {
+
+    private static final AtomicInteger iterationsWhenReady = new AtomicInteger(-1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WarmUpRunner warmUpRunner;
+
+    @Test
+    @DisplayName("La préchauffe exécute le nombre d'itérations configuré avant que l'application soit prête")
+    void warmUp_CompletesBeforeReadiness() {
+        // Then
+        assertThat(warmUpRunner.getIterations()).isEqualTo(20);
+        assertThat(iterationsWhenReady).hasValue(20);
+    }
+
+    @Test
+    @DisplayName("GET /actuator/health/readiness - Devrait être UP après la préchauffe, sans jeton")
+    void readinessProbe_IsUpAfterWarmUp() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/health/liveness - Devrait être UP, sans jeton")
+    void livenessProbe_IsUpWithoutToken() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    static class ReadinessRecorder implements ApplicationListener<AvailabilityChangeEvent<ReadinessState>> {
+
+        @Override
+        public void onApplicationEvent(AvailabilityChangeEvent<ReadinessState> event) {
+            if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                ApplicationContext context = (ApplicationContext) event.getSource();
+                iterationsWhenReady.set(context.getBean(WarmUpRunner.class).getIterations());
+            }
+        }
+    }
+}
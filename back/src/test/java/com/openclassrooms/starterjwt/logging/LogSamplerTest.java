@@ -0,0 +1,50 @@
+package com.openclassrooms.starterjwt.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour LogSampler
+ *
+ * JUSTIFICATION : les événements fréquents (jetons rejetés, requêtes lentes) sont échantillonnés
+ * - Seuls les premiers événements de chaque fenêtre sont journalisés
+ * - Le nombre d'événements supprimés est reporté sur le suivant
+ */
+@DisplayName("LogSampler - Tests unitaires")
+class LogSamplerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final LogSampler sampler = new LogSampler(2, Duration.ofSeconds(1), clock::get);
+
+    @Test
+    @DisplayName("Les événements au-delà de la limite sont supprimés")
+    void sample_DropsEventsOverLimit() {
+        // Act & Assert
+        assertEquals(0, sampler.sample());
+        assertEquals(0, sampler.sample());
+        assertEquals(-1, sampler.sample());
+        assertEquals(-1, sampler.sample());
+    }
+
+    @Test
+    @DisplayName("La fenêtre suivante reporte le nombre d'événements supprimés")
+    void sample_ReportsSuppressedInNextWindow() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            sampler.sample();
+        }
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        // Assert
+        assertEquals(3, sampler.sample());
+        assertEquals(0, sampler.sample());
+        assertEquals(-1, sampler.sample());
+    }
+}
@@ -0,0 +1,78 @@
+package com.openclassrooms.starterjwt.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests unitaires pour AllocationFilter
+ *
+ * JUSTIFICATION : les octets alloués par requête sont comptés par endpoint
+ * - Mesure de l'allocation du thread de la requête
+ * - Étiquettes bornées (modèle de chemin, pas l'URL brute)
+ */
+@DisplayName("AllocationFilter - Tests unitaires")
+class AllocationFilterTest {
+
+    private static final int ALLOCATION = 1024 * 1024;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AllocationFilter filter;
+
+    private byte[] allocated;
+
+    @BeforeEach
+    void setUp() {
+        com.sun.management.ThreadMXBean threads = AllocationFilter.threadMXBean();
+        assumeTrue(threads != null, "Mesure de l'allocation par thread non supportée par cette JVM");
+
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AllocationFilter(meterRegistry, threads);
+    }
+
+    @Test
+    @DisplayName("Les octets alloués pendant la requête sont enregistrés par modèle de chemin")
+    void doFilter_RecordsAllocationByPathTemplate() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/session/42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/session/{id}");
+            allocated = new byte[ALLOCATION];
+        });
+
+        // Assert
+        DistributionSummary summary = meterRegistry.get(AllocationFilter.METER)
+                .tags("method", "GET", "uri", "/api/session/{id}", "status", "200")
+                .summary();
+        assertEquals(1, summary.count());
+        assertTrue(summary.totalAmount() >= ALLOCATION);
+        assertEquals(ALLOCATION, allocated.length);
+    }
+
+    @Test
+    @DisplayName("Une requête rejetée avant le contrôleur n'expose pas son URL brute")
+    void doFilter_Unauthorized_UsesBoundedUri() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/session/42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> ((MockHttpServletResponse) res).setStatus(401));
+
+        // Assert
+        DistributionSummary summary = meterRegistry.get(AllocationFilter.METER).tag("status", "401").summary();
+        assertNotEquals("/api/session/42", summary.getId().getTag("uri"));
+    }
+}
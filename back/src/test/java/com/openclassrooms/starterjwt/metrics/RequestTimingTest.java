@@ -0,0 +1,100 @@
+package com.openclassrooms.starterjwt.metrics;
+
+import net.logstash.logback.argument.StructuredArgument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour RequestTiming
+ *
+ * JUSTIFICATION : le détail des temps d'une requête est lu dans l'en-tête Server-Timing
+ * - Format de l'en-tête et de la ligne de journal
+ * - Aucun effet hors d'une requête chronométrée
+ * - Pas de double comptage des mappers imbriqués
+ */
+@DisplayName("RequestTiming - Tests unitaires")
+class RequestTimingTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.end();
+    }
+
+    @Test
+    @DisplayName("L'en-tête détaille authentification, SQL, mapping et durée totale")
+    void serverTiming_ListsEveryPhase() {
+        // Arrange
+        RequestTiming timing = RequestTiming.begin();
+        RequestTiming.recordAuth(2 * MS);
+        RequestTiming.recordSql(3 * MS);
+        RequestTiming.recordSql(MS);
+        timing.enterMapping();
+        timing.exitMapping(MS / 2);
+
+        // Act
+        String header = timing.serverTiming(System.nanoTime());
+
+        // Assert
+        assertTrue(header.startsWith("auth;dur=2.00, db;dur=4.00;desc=\"2 queries\", mapping;dur=0.50, total;dur="));
+        assertFalse(header.contains("serialization"));
+    }
+
+    @Test
+    @DisplayName("La sérialisation est mesurée jusqu'à l'envoi de la réponse")
+    void serialization_IsMeasuredUntilCommit() {
+        // Arrange
+        RequestTiming timing = RequestTiming.begin();
+        RequestTiming.markSerialization();
+        long committed = System.nanoTime() + 5 * MS;
+        timing.committed(committed);
+
+        // Act
+        String header = timing.serverTiming(committed);
+        Object[] fields = timing.accessLog("GET", "/api/session/{id}", 200, committed + 100 * MS);
+        String log = Arrays.stream(fields).map(String::valueOf).collect(Collectors.joining(" "));
+
+        // Assert
+        assertTrue(header.contains(", serialization;dur=5."));
+        assertTrue(log.startsWith("method=GET uri=/api/session/{id} status=200 total_ms="));
+        assertTrue(log.contains(" db_count=0 db_ms=0.0 mapping_ms=0.0 serialization_ms=5."));
+        assertTrue(Arrays.stream(fields).allMatch(StructuredArgument.class::isInstance));
+    }
+
+    @Test
+    @DisplayName("Les mesures sont ignorées hors d'une requête chronométrée")
+    void recorders_WithoutRequest_DoNothing() {
+        // Act
+        RequestTiming.recordAuth(MS);
+        RequestTiming.recordSql(MS);
+        RequestTiming.markSerialization();
+
+        // Assert
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    @DisplayName("Un mapper appelé depuis un autre mapper n'est compté qu'une fois")
+    void nestedMapping_IsCountedOnce() {
+        // Arrange
+        RequestTiming timing = RequestTiming.begin();
+
+        // Act
+        boolean outer = timing.enterMapping();
+        boolean inner = timing.enterMapping();
+        timing.exitMapping(MS);
+
+        // Assert
+        assertTrue(outer);
+        assertFalse(inner);
+        assertTrue(timing.serverTiming(System.nanoTime()).contains("mapping;dur=1.00"));
+    }
+}
@@ -141,6 +141,7 @@ class SessionTest {
         // Then
         assertThat(sessionString).contains("Session");
         assertThat(sessionString).contains("Yoga Session");
+        assertThat(sessionString).doesNotContain("users");
     }
 
     @Test
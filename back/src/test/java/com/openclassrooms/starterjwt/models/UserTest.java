@@ -151,6 +151,7 @@ class UserTest {
         // Then
         assertThat(userString).contains("User");
         assertThat(userString).contains("test@example.com");
+        assertThat(userString).doesNotContain("password");
     }
 
     @Test
@@ -50,6 +50,24 @@ class UserDetailsImplTest {
         assertThat(authorities).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should grant ROLE_ADMIN to an admin user")
+    void getAuthorities_Admin_ReturnsAdminRole() {
+        // Given
+        UserDetailsImpl admin = UserDetailsImpl.builder()
+                .id(2L)
+                .username("admin@example.com")
+                .password("encodedPassword")
+                .admin(true)
+                .build();
+
+        // When
+        Collection<? extends GrantedAuthority> authorities = admin.getAuthorities();
+
+        // Then
+        assertThat(authorities).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+    }
+
     @Test
     @DisplayName("Should return account non expired as true")
     void isAccountNonExpired_ReturnsTrue() {
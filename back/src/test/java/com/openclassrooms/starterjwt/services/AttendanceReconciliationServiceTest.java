@@ -0,0 +1,90 @@
+package com.openclassrooms.starterjwt.services;
+
+/**
+ * Tests unitaires pour AttendanceReconciliationService.
+ * 
+ * Cette classe teste le job de réconciliation nocturne des compteurs de fréquentation :
+ * - Calcul de la dérive à partir d'une seule lecture (attendus et compteurs stockés)
+ * - Réparation des compteurs ayant dérivé (delta appliqué)
+ * - Remise à zéro des compteurs orphelins
+ */
+
+import com.openclassrooms.starterjwt.models.AttendanceCounter;
+import com.openclassrooms.starterjwt.repository.AttendanceCounterRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AttendanceReconciliationService Unit Tests")
+class AttendanceReconciliationServiceTest {
+
+    @Mock
+    private AttendanceCounterRepository attendanceCounterRepository;
+
+    @Mock
+    private AttendanceStatsService attendanceStatsService;
+
+    @InjectMocks
+    private AttendanceReconciliationService attendanceReconciliationService;
+
+    @Test
+    @DisplayName("Should repair drifted counters summed over shards and reset orphans")
+    void reconcile_RepairsDrift() {
+        // Given
+        Date monday = Date.from(LocalDate.of(2026, 10, 12).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        Date friday = Date.from(LocalDate.of(2026, 10, 16).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        when(attendanceCounterRepository.findDrift()).thenReturn(Arrays.asList(
+                row("SESSION", 1, null, 3L),
+                row("SESSION", 2, null, 2L),
+                row("TEACHER", 5, null, 5L),
+                row("WEEK", null, monday, 3L),
+                row("WEEK", null, friday, 2L),
+                row("SESSION", 1L, null, new BigDecimal(-3)),
+                row("SESSION", 2L, null, new BigDecimal(-4)),
+                row("TEACHER", 5L, null, new BigDecimal(-7)),
+                row("WEEK", 202642L, null, new BigDecimal(-5)),
+                row("SESSION", 9L, null, new BigDecimal(-1))));
+
+        // When
+        int repaired = attendanceReconciliationService.reconcile();
+
+        // Then
+        assertThat(repaired).isEqualTo(3);
+        verify(attendanceStatsService).apply(AttendanceCounter.Scope.SESSION, 2L, -2);
+        verify(attendanceStatsService).apply(AttendanceCounter.Scope.TEACHER, 5L, -2);
+        verify(attendanceStatsService).apply(AttendanceCounter.Scope.SESSION, 9L, -1);
+        verifyNoMoreInteractions(attendanceStatsService);
+    }
+
+    @Test
+    @DisplayName("Should leave consistent counters untouched")
+    void reconcile_NothingToRepair() {
+        // Given
+        when(attendanceCounterRepository.findDrift()).thenReturn(Collections.emptyList());
+
+        // When
+        int repaired = attendanceReconciliationService.reconcile();
+
+        // Then
+        assertThat(repaired).isZero();
+        verifyNoInteractions(attendanceStatsService);
+    }
+
+    private static Object[] row(String scope, Number scopeKey, Date day, Number participants) {
+        return new Object[]{scope, scopeKey, day, participants};
+    }
+}
@@ -0,0 +1,148 @@
+package com.openclassrooms.starterjwt.services;
+
+/**
+ * Tests unitaires pour AttendanceStatsService.
+ * 
+ * Cette classe teste la maintenance incrémentale des compteurs de fréquentation :
+ * - Mise à jour des compteurs par session, par professeur et par semaine
+ * - Suppression des compteurs d'une session supprimée
+ * - Lecture des statistiques à partir des compteurs (sans scan de PARTICIPATE)
+ */
+
+import com.openclassrooms.starterjwt.dto.AttendanceStatsDto;
+import com.openclassrooms.starterjwt.models.AttendanceCounter;
+import com.openclassrooms.starterjwt.models.Session;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.models.User;
+import com.openclassrooms.starterjwt.repository.AttendanceCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AttendanceStatsService Unit Tests")
+class AttendanceStatsServiceTest {
+
+    @Mock
+    private AttendanceCounterRepository attendanceCounterRepository;
+
+    @InjectMocks
+    private AttendanceStatsService attendanceStatsService;
+
+    private Session session;
+    private Long weekKey;
+
+    @BeforeEach
+    void setUp() {
+        Date date = Date.from(LocalDate.of(2026, 10, 14).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        weekKey = 202642L;
+
+        session = Session.builder()
+                .id(7L)
+                .name("Yoga Session")
+                .date(date)
+                .description("Morning yoga session")
+                .teacher(Teacher.builder().id(3L).firstName("John").lastName("Doe").build())
+                .users(new ArrayList<>())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should increment session, teacher and week counters")
+    void record_IncrementsAllScopes() {
+        // When
+        attendanceStatsService.record(session, 1);
+
+        // Then
+        verify(attendanceCounterRepository).upsert(AttendanceCounter.Scope.SESSION, 7L, 0, 1);
+        verify(attendanceCounterRepository).upsert(AttendanceCounter.Scope.TEACHER, 3L, 0, 1);
+        verify(attendanceCounterRepository).upsert(AttendanceCounter.Scope.WEEK, weekKey, 0, 1);
+        verify(attendanceCounterRepository, never()).save(any(AttendanceCounter.class));
+    }
+
+    @Test
+    @DisplayName("Should delete session counters and decrement teacher and week counters on removal")
+    void remove_DeletesSessionCounters() {
+        // Given
+        session.getUsers().add(new User());
+        session.getUsers().add(new User());
+
+        // When
+        attendanceStatsService.remove(session);
+
+        // Then
+        verify(attendanceCounterRepository).deleteByScopeKey(AttendanceCounter.Scope.SESSION, 7L);
+        verify(attendanceCounterRepository).upsert(AttendanceCounter.Scope.TEACHER, 3L, 0, -2);
+        verify(attendanceCounterRepository).upsert(AttendanceCounter.Scope.WEEK, weekKey, 0, -2);
+        verifyNoMoreInteractions(attendanceCounterRepository);
+    }
+
+    @Test
+    @DisplayName("Should skip teacher and week counters when they are unknown")
+    void record_WithoutTeacherAndDate() {
+        // Given
+        session.setTeacher(null);
+        session.setDate(null);
+
+        // When
+        attendanceStatsService.record(session, -1);
+
+        // Then
+        verify(attendanceCounterRepository, times(1)).upsert(AttendanceCounter.Scope.SESSION, 7L, 0, -1);
+        verifyNoMoreInteractions(attendanceCounterRepository);
+    }
+
+    @Test
+    @DisplayName("Should ignore zero deltas")
+    void record_ZeroDelta() {
+        // When
+        attendanceStatsService.record(session, 0);
+
+        // Then
+        verifyNoInteractions(attendanceCounterRepository);
+    }
+
+    @Test
+    @DisplayName("Should build stats by summing counter shards")
+    void getStats_Success() {
+        // Given
+        when(attendanceCounterRepository.findAll()).thenReturn(Arrays.asList(
+                new AttendanceCounter(AttendanceCounter.Scope.SESSION, 7L, 0, 5),
+                new AttendanceCounter(AttendanceCounter.Scope.SESSION, 7L, 3, 7),
+                new AttendanceCounter(AttendanceCounter.Scope.TEACHER, 3L, 1, 20),
+                new AttendanceCounter(AttendanceCounter.Scope.WEEK, weekKey, 0, 15)));
+
+        // When
+        AttendanceStatsDto stats = attendanceStatsService.getStats();
+
+        // Then
+        assertThat(stats.getSessions()).containsEntry(7L, 12L);
+        assertThat(stats.getTeachers()).containsEntry(3L, 20L);
+        assertThat(stats.getWeeks()).containsEntry("2026-W42", 15L);
+    }
+
+    @Test
+    @DisplayName("Should compute ISO week keys across year boundaries")
+    void weekKey_IsoWeekBasedYear() {
+        // Given
+        Date newYearsEve = Date.from(LocalDate.of(2024, 12, 31).atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+        // When & Then
+        assertThat(AttendanceStatsService.weekKey(newYearsEve)).isEqualTo(202501L);
+        assertThat(AttendanceStatsService.weekLabel(202501L)).isEqualTo("2025-W01");
+    }
+}
@@ -30,17 +30,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Collections;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,6 +67,9 @@ class SessionServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AttendanceStatsService attendanceStatsService;
+
     @InjectMocks
     private SessionService sessionService;
 
@@ -115,6 +132,21 @@ class SessionServiceTest {
         verify(sessionRepository, times(1)).deleteById(1L);
     }
 
+    @Test
+    @DisplayName("Should remove participants from attendance counters on delete")
+    void delete_RecordsAttendance() {
+        // Given
+        session.getUsers().add(user);
+        when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
+
+        // When
+        sessionService.delete(1L);
+
+        // Then
+        verify(attendanceStatsService, times(1)).remove(session);
+        verify(sessionRepository, times(1)).deleteById(1L);
+    }
+
     @Test
     @DisplayName("Should find all sessions successfully")
     void findAll_Success() {
@@ -200,17 +232,16 @@ class SessionServiceTest {
     void participate_Success() {
         // Given
         when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(sessionRepository.save(any(Session.class))).thenReturn(session);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(sessionRepository.addParticipant(1L, 1L)).thenReturn(1);
 
         // When
         sessionService.participate(1L, 1L);
 
         // Then
-        assertThat(session.getUsers()).contains(user);
-        verify(sessionRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findById(1L);
-        verify(sessionRepository, times(1)).save(session);
+        verify(sessionRepository, times(1)).addParticipant(1L, 1L);
+        verify(sessionRepository, never()).save(any(Session.class));
+        verify(attendanceStatsService, times(1)).record(session, 1);
     }
 
     @Test
@@ -224,8 +255,8 @@ class SessionServiceTest {
                 .isInstanceOf(NotFoundException.class);
 
         verify(sessionRepository, times(1)).findById(1L);
-        verify(userRepository, never()).findById(anyLong());
-        verify(sessionRepository, never()).save(any(Session.class));
+        verify(userRepository, never()).existsById(anyLong());
+        verify(sessionRepository, never()).addParticipant(anyLong(), anyLong());
     }
 
     @Test
@@ -233,49 +264,61 @@ class SessionServiceTest {
     void participate_UserNotFound() {
         // Given
         when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.existsById(1L)).thenReturn(false);
 
         // When & Then
         assertThatThrownBy(() -> sessionService.participate(1L, 1L))
                 .isInstanceOf(NotFoundException.class);
 
-        verify(sessionRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findById(1L);
-        verify(sessionRepository, never()).save(any(Session.class));
+        verify(userRepository, times(1)).existsById(1L);
+        verify(sessionRepository, never()).addParticipant(anyLong(), anyLong());
     }
 
     @Test
     @DisplayName("Should throw BadRequestException when user already participates")
     void participate_AlreadyParticipates() {
         // Given
-        session.getUsers().add(user);
         when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(sessionRepository.countParticipant(1L, 1L)).thenReturn(1L);
 
         // When & Then
         assertThatThrownBy(() -> sessionService.participate(1L, 1L))
                 .isInstanceOf(BadRequestException.class);
 
-        verify(sessionRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findById(1L);
-        verify(sessionRepository, never()).save(any(Session.class));
+        verify(sessionRepository, never()).addParticipant(anyLong(), anyLong());
+        verify(attendanceStatsService, never()).record(any(Session.class), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should throw BadRequestException when a concurrent request enrolled the user first")
+    void participate_ConcurrentDuplicate() {
+        // Given
+        when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(sessionRepository.addParticipant(1L, 1L)).thenThrow(new DataIntegrityViolationException("PRIMARY KEY"));
+
+        // When & Then
+        assertThatThrownBy(() -> sessionService.participate(1L, 1L))
+                .isInstanceOf(BadRequestException.class);
+
+        verify(attendanceStatsService, never()).record(any(Session.class), anyLong());
     }
 
     @Test
     @DisplayName("Should no longer participate in session successfully")
     void noLongerParticipate_Success() {
         // Given
-        session.getUsers().add(user);
         when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
-        when(sessionRepository.save(any(Session.class))).thenReturn(session);
+        when(sessionRepository.removeParticipant(1L, 1L)).thenReturn(1);
 
         // When
         sessionService.noLongerParticipate(1L, 1L);
 
         // Then
-        assertThat(session.getUsers()).doesNotContain(user);
-        verify(sessionRepository, times(1)).findById(1L);
-        verify(sessionRepository, times(1)).save(session);
+        verify(sessionRepository, times(1)).removeParticipant(1L, 1L);
+        verify(sessionRepository, never()).save(any(Session.class));
+        verify(attendanceStatsService, times(1)).record(session, -1);
     }
 
     @Test
@@ -289,7 +332,7 @@ class SessionServiceTest {
                 .isInstanceOf(NotFoundException.class);
 
         verify(sessionRepository, times(1)).findById(1L);
-        verify(sessionRepository, never()).save(any(Session.class));
+        verify(sessionRepository, never()).removeParticipant(anyLong(), anyLong());
     }
 
     @Test
@@ -297,39 +340,131 @@ class SessionServiceTest {
     void noLongerParticipate_UserNotParticipating() {
         // Given
         when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
+        when(sessionRepository.removeParticipant(1L, 1L)).thenReturn(0);
 
         // When & Then
         assertThatThrownBy(() -> sessionService.noLongerParticipate(1L, 1L))
                 .isInstanceOf(BadRequestException.class);
 
-        verify(sessionRepository, times(1)).findById(1L);
-        verify(sessionRepository, never()).save(any(Session.class));
+        verify(attendanceStatsService, never()).record(any(Session.class), anyLong());
     }
 
     @Test
-    @DisplayName("Should handle multiple users in session")
-    void participate_MultipleUsers() {
+    @DisplayName("Should tell whether a user participates without loading the session")
+    void isParticipating_Success() {
         // Given
-        User user2 = User.builder()
-                .id(2L)
-                .email("user2@example.com")
-                .firstName("John")
-                .lastName("Doe")
-                .password("password")
-                .admin(false)
-                .build();
+        when(sessionRepository.existsById(1L)).thenReturn(true);
+        when(sessionRepository.countParticipant(1L, 1L)).thenReturn(1L);
+        when(sessionRepository.countParticipant(1L, 2L)).thenReturn(0L);
 
-        session.getUsers().add(user2);
-        
-        when(sessionRepository.findById(1L)).thenReturn(Optional.of(session));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(sessionRepository.save(any(Session.class))).thenReturn(session);
+        // When & Then
+        assertThat(sessionService.isParticipating(1L, 1L)).isTrue();
+        assertThat(sessionService.isParticipating(1L, 2L)).isFalse();
+        verify(sessionRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should throw NotFoundException when session not found on isParticipating")
+    void isParticipating_SessionNotFound() {
+        // Given
+        when(sessionRepository.existsById(1L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> sessionService.isParticipating(1L, 1L))
+                .isInstanceOf(NotFoundException.class);
+
+        verify(sessionRepository, never()).countParticipant(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should find projected sessions through the repository projection")
+    void findAllProjected_Success() {
+        // Given
+        List<Map<String, Object>> rows = Collections.singletonList(Collections.singletonMap("name", "Yoga Session"));
+        when(sessionRepository.findAllProjected(Collections.singleton("name"))).thenReturn(rows);
 
         // When
-        sessionService.participate(1L, 1L);
+        List<Map<String, Object>> result = sessionService.findAllProjected(Collections.singleton("name"));
+
+        // Then
+        assertThat(result).isEqualTo(rows);
+        verify(sessionRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should stream session summaries to the consumer and close the cursor")
+    void exportAll_StreamsAndCloses() {
+        // Given
+        Map<String, Object> row = Collections.singletonMap("name", "Yoga Session");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(sessionRepository.streamAllSummaries(anyInt())).thenReturn(Stream.of(row).onClose(() -> closed.set(true)));
+        List<Map<String, Object>> exported = new ArrayList<>();
+
+        // When
+        sessionService.exportAll(exported::add);
+
+        // Then
+        assertThat(exported).containsExactly(row);
+        assertThat(closed).isTrue();
+        verify(sessionRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should get a page of participants after the cursor")
+    void getParticipants_Success() {
+        // Given
+        when(sessionRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findParticipants(eq(1L), eq(0L), any(Pageable.class))).thenReturn(Collections.singletonList(user));
+
+        // When
+        List<User> result = sessionService.getParticipants(1L, null, 20);
 
         // Then
-        assertThat(session.getUsers()).hasSize(2);
-        assertThat(session.getUsers()).contains(user, user2);
+        assertThat(result).containsExactly(user);
+        verify(userRepository).findParticipants(1L, 0L, PageRequest.of(0, 20));
+    }
+
+    @Test
+    @DisplayName("Should throw NotFoundException when getting participants of unknown session")
+    void getParticipants_SessionNotFound() {
+        // Given
+        when(sessionRepository.existsById(1L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> sessionService.getParticipants(1L, null, 20))
+                .isInstanceOf(NotFoundException.class);
+        verify(userRepository, never()).findParticipants(anyLong(), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should get a teacher's schedule from a day onwards, sorted by date")
+    void findByTeacher_OpenEnded() {
+        // Given
+        Page<Session> page = new PageImpl<>(Collections.singletonList(session));
+        when(sessionRepository.findScheduleByTeacherId(eq(1L), any(Date.class), any(Pageable.class))).thenReturn(page);
+
+        // When
+        Page<Session> result = sessionService.findByTeacher(1L, LocalDate.of(2024, 1, 1), null, 2, 10);
+
+        // Then
+        assertThat(result).isSameAs(page);
+        Date from = Date.from(LocalDate.of(2024, 1, 1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        verify(sessionRepository).findScheduleByTeacherId(1L, from, PageRequest.of(2, 10, Sort.by("date", "id")));
+    }
+
+    @Test
+    @DisplayName("Should include the whole last day of a teacher's schedule range")
+    void findByTeacher_Bounded() {
+        // Given
+        Page<Session> page = new PageImpl<>(Collections.emptyList());
+        when(sessionRepository.findScheduleByTeacherId(eq(1L), any(Date.class), any(Date.class), any(Pageable.class))).thenReturn(page);
+
+        // When
+        sessionService.findByTeacher(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 7), 0, 20);
+
+        // Then - La borne haute est exclusive au lendemain
+        Date from = Date.from(LocalDate.of(2024, 1, 1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        Date to = Date.from(LocalDate.of(2024, 1, 8).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        verify(sessionRepository).findScheduleByTeacherId(1L, from, to, PageRequest.of(0, 20, Sort.by("date", "id")));
     }
 }
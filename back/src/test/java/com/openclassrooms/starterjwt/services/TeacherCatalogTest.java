@@ -0,0 +1,109 @@
+package com.openclassrooms.starterjwt.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.starterjwt.dto.TeacherDto;
+import com.openclassrooms.starterjwt.mapper.TeacherMapper;
+import com.openclassrooms.starterjwt.models.Teacher;
+import com.openclassrooms.starterjwt.repository.TeacherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour TeacherCatalog
+ *
+ * JUSTIFICATION : le catalogue des professeurs est servi depuis un snapshot immuable
+ * - Chargement unique tant que rien ne change
+ * - Remplacement du snapshot après invalidation
+ * - ETag stable pour un contenu identique
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TeacherCatalog - Tests unitaires")
+class TeacherCatalogTest {
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Mock
+    private TeacherMapper teacherMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TeacherCatalog teacherCatalog;
+
+    private List<Teacher> teachers;
+
+    @BeforeEach
+    void setUp() {
+        teacherCatalog = new TeacherCatalog(teacherRepository, teacherMapper, new ObjectMapper().findAndRegisterModules(), transactionManager);
+
+        Teacher teacher = new Teacher();
+        teacher.setId(1L);
+        teachers = Collections.singletonList(teacher);
+
+        TeacherDto dto = new TeacherDto();
+        dto.setId(1L);
+        dto.setFirstName("Marie");
+        dto.setLastName("Dubois");
+
+        when(teacherRepository.findAll()).thenReturn(teachers);
+        when(teacherMapper.toDto(teachers)).thenReturn(Collections.singletonList(dto));
+    }
+
+    @Test
+    @DisplayName("snapshot - Devrait charger le catalogue une seule fois")
+    void snapshot_ShouldBeLoadedOnce() {
+        // Act
+        TeacherCatalog.Snapshot first = teacherCatalog.snapshot();
+        TeacherCatalog.Snapshot second = teacherCatalog.snapshot();
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(teacherCatalog.contains(1L));
+        assertFalse(teacherCatalog.contains(2L));
+        verify(teacherRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("invalidate - Devrait remplacer le snapshot au prochain accès")
+    void invalidate_ShouldSwapSnapshot() {
+        // Arrange
+        TeacherCatalog.Snapshot first = teacherCatalog.snapshot();
+
+        // Act
+        teacherCatalog.invalidate();
+        TeacherCatalog.Snapshot second = teacherCatalog.snapshot();
+
+        // Assert - Nouveau snapshot, même contenu donc même ETag
+        assertNotSame(first, second);
+        assertEquals(first.getEtag(), second.getEtag());
+        assertArrayEquals(first.getJson(), second.getJson());
+        verify(teacherRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("Snapshot.matches - Devrait reconnaître l'ETag, sa forme faible et *")
+    void matches_ShouldHandleIfNoneMatchForms() {
+        // Arrange
+        TeacherCatalog.Snapshot snapshot = teacherCatalog.snapshot();
+
+        // Assert
+        assertTrue(snapshot.matches(snapshot.getEtag()));
+        assertTrue(snapshot.matches("W/" + snapshot.getEtag()));
+        assertTrue(snapshot.matches("\"a\", " + snapshot.getEtag()));
+        assertTrue(snapshot.matches("*"));
+        assertFalse(snapshot.matches("\"a\""));
+        assertFalse(snapshot.matches(null));
+    }
+}
@@ -1,5 +1,6 @@
 package com.openclassrooms.starterjwt.services;
 
+import com.openclassrooms.starterjwt.exception.UnknownIdsException;
 import com.openclassrooms.starterjwt.models.Teacher;
 import com.openclassrooms.starterjwt.repository.TeacherRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +34,9 @@ class TeacherServiceTest {
     @Mock
     private TeacherRepository teacherRepository;
 
+    @Mock
+    private TeacherCatalog teacherCatalog;
+
     @InjectMocks
     private TeacherService teacherService;
 
@@ -248,4 +252,60 @@ class TeacherServiceTest {
         verify(teacherRepository).findAll();
         verify(teacherRepository).findById(1L);
     }
+
+    @Test
+    @DisplayName("getReference - Devrait retourner une référence sans charger le professeur")
+    void getReference_ShouldReturnReference_WhenTeacherExists() {
+        // Arrange
+        when(teacherRepository.existsById(1L)).thenReturn(true);
+        when(teacherRepository.getById(1L)).thenReturn(mockTeacher1);
+
+        // Act
+        Teacher result = teacherService.getReference(1L);
+
+        // Assert
+        assertSame(mockTeacher1, result);
+        verify(teacherRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("getReference - Devrait s'appuyer sur le catalogue sans interroger la base")
+    void getReference_ShouldUseCatalog_WhenTeacherIsCached() {
+        // Arrange
+        when(teacherCatalog.contains(1L)).thenReturn(true);
+        when(teacherRepository.getById(1L)).thenReturn(mockTeacher1);
+
+        // Act
+        Teacher result = teacherService.getReference(1L);
+
+        // Assert
+        assertSame(mockTeacher1, result);
+        verify(teacherRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    @DisplayName("getReference - Devrait signaler un professeur inconnu")
+    void getReference_ShouldThrow_WhenTeacherNotFound() {
+        // Arrange
+        when(teacherRepository.existsById(999L)).thenReturn(false);
+
+        // Act & Assert
+        UnknownIdsException exception = assertThrows(UnknownIdsException.class, () -> teacherService.getReference(999L));
+        assertEquals(Arrays.asList(999L), exception.getIds());
+        verify(teacherRepository, never()).getById(anyLong());
+    }
+
+    @Test
+    @DisplayName("exists - Devrait interroger la base seulement si le catalogue ne connaît pas l'ID")
+    void exists_ShouldFallBackToRepository() {
+        // Arrange
+        when(teacherCatalog.contains(1L)).thenReturn(true);
+        when(teacherCatalog.contains(2L)).thenReturn(false);
+        when(teacherRepository.existsById(2L)).thenReturn(true);
+
+        // Act & Assert
+        assertTrue(teacherService.exists(1L));
+        assertTrue(teacherService.exists(2L));
+        verify(teacherRepository, never()).existsById(1L);
+    }
 }
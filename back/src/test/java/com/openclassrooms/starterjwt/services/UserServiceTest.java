@@ -10,8 +10,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Map;
+import java.util.Collections;
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -265,4 +269,44 @@ class UserServiceTest {
         assertNotNull(result);
         verify(userRepository).findById(1L);
     }
+
+    @Test
+    @DisplayName("findProjectedById - Devrait retourner uniquement les champs projetés")
+    void findProjectedById_ShouldReturnProjectedFields() {
+        // Arrange
+        Map<String, Object> row = Collections.singletonMap("firstName", "John");
+        when(userRepository.findProjectedById(1L, Collections.singleton("firstName"))).thenReturn(Optional.of(row));
+
+        // Act
+        Map<String, Object> result = userService.findProjectedById(1L, Collections.singleton("firstName"));
+
+        // Assert
+        assertEquals(row, result);
+    }
+
+    @Test
+    @DisplayName("findProjectedById - Devrait retourner null quand l'utilisateur n'existe pas")
+    void findProjectedById_ShouldReturnNull_WhenUserNotFound() {
+        // Arrange
+        when(userRepository.findProjectedById(1L, Collections.singleton("id"))).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertNull(userService.findProjectedById(1L, Collections.singleton("id")));
+    }
+
+    @Test
+    @DisplayName("findAllById - Devrait charger les utilisateurs en une seule requête")
+    void findAllById_ShouldDelegateToRepository() {
+        // Arrange
+        List<Long> ids = Arrays.asList(1L, 2L);
+        List<User> users = Arrays.asList(new User(), new User());
+        when(userRepository.findAllById(ids)).thenReturn(users);
+
+        // Act
+        List<User> result = userService.findAllById(ids);
+
+        // Assert
+        assertEquals(users, result);
+        verify(userRepository, times(1)).findAllById(ids);
+    }
 }
@@ -0,0 +1,67 @@
+package com.openclassrooms.starterjwt.startup;
+
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour FirstRequestFilter
+ *
+ * JUSTIFICATION : le délai jusqu'à la première requête sert de référence pour le démarrage
+ * - Seule la première requête applicative est mesurée
+ * - Les requêtes actuator (sondes, collecte des métriques) sont ignorées
+ */
+@DisplayName("FirstRequestFilter - Tests unitaires")
+class FirstRequestFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private FirstRequestFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new FirstRequestFilter(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Les requêtes actuator ne comptent pas comme première requête")
+    void doFilter_IgnoresActuatorRequests() throws Exception {
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(meterRegistry.find(FirstRequestFilter.METER).timeGauge());
+    }
+
+    @Test
+    @DisplayName("Seule la première requête applicative est mesurée")
+    void doFilter_RecordsFirstRequestOnce() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/session"), new MockHttpServletResponse(),
+                (request, response) -> calls.incrementAndGet());
+        TimeGauge first = meterRegistry.get(FirstRequestFilter.METER).timeGauge();
+        double recorded = first.value(TimeUnit.MILLISECONDS);
+        Thread.sleep(5);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/teacher"), new MockHttpServletResponse(),
+                (request, response) -> calls.incrementAndGet());
+
+        // Assert
+        assertEquals(2, calls.get());
+        assertTrue(recorded > 0);
+        assertEquals(recorded, meterRegistry.get(FirstRequestFilter.METER).timeGauge().value(TimeUnit.MILLISECONDS));
+    }
+}
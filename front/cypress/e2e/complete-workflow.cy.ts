@@ -67,7 +67,7 @@ describe('Complete User Journey spec', () => {
           description: 'Start your day with energy',
           date: '2024-12-01T08:00:00',
           teacher_id: 1,
-          users: [],
+          participantCount: 0,
           createdAt: '2024-11-01T00:00:00',
           updatedAt: '2024-11-01T00:00:00'
         }
@@ -85,9 +85,14 @@ describe('Complete User Journey spec', () => {
         statusCode: 200
       }).as('participateRequest');
 
+      cy.intercept('GET', '/api/session/1/participate/3', {
+        body: false
+      }).as('participationRequest');
+
       cy.get('.mat-card').first().contains('button', 'Detail').click();
       cy.wait('@sessionDetailRequest');
       cy.wait('@teacherRequest');
+      cy.wait('@participationRequest');
 
       cy.contains('button', 'Participate').should('be.visible');
       cy.contains('button', 'Participate').click();
@@ -231,7 +236,7 @@ describe('Complete User Journey spec', () => {
           description: 'Brand new session',
           date: '2024-12-15T10:00:00',
           teacher_id: 1,
-          users: [],
+          participantCount: 0,
           createdAt: '2024-11-06T00:00:00',
           updatedAt: '2024-11-06T00:00:00'
         }
@@ -305,7 +310,7 @@ describe('Complete User Journey spec', () => {
           description: 'Updated description',
           date: '2024-12-15T10:00:00',
           teacher_id: 2,
-          users: [],
+          participantCount: 0,
           createdAt: '2024-11-06T00:00:00',
           updatedAt: '2024-11-06T12:00:00'
         }
@@ -412,7 +417,7 @@ describe('Complete User Journey spec', () => {
           description: 'Start your day with energy',
           date: '2024-12-01T08:00:00',
           teacher_id: 1,
-          users: [],
+          participantCount: 0,
           createdAt: '2024-11-01T00:00:00',
           updatedAt: '2024-11-01T00:00:00'
         }
@@ -430,9 +435,14 @@ describe('Complete User Journey spec', () => {
         statusCode: 200
       }).as('participateSession1Request');
 
+      cy.intercept('GET', '/api/session/1/participate/2', {
+        body: false
+      }).as('participationSession1Request');
+
       cy.get('.mat-card').first().contains('button', 'Detail').click();
       cy.wait('@session1DetailRequest');
       cy.wait('@teacher1Request');
+      cy.wait('@participationSession1Request');
       cy.contains('button', 'Participate').click();
       cy.wait('@participateSession1Request');
 
@@ -447,7 +457,7 @@ describe('Complete User Journey spec', () => {
           description: 'Relax in the evening',
           date: '2024-12-01T18:00:00',
           teacher_id: 2,
-          users: [2],
+          participantCount: 1,
           createdAt: '2024-11-01T00:00:00',
           updatedAt: '2024-11-01T00:00:00'
         }
@@ -465,9 +475,14 @@ describe('Complete User Journey spec', () => {
         statusCode: 200
       }).as('unparticipateSession2Request');
 
+      cy.intercept('GET', '/api/session/2/participate/2', {
+        body: true
+      }).as('participationSession2Request');
+
       cy.get('.mat-card').last().contains('button', 'Detail').click();
       cy.wait('@session2DetailRequest');
       cy.wait('@teacher2Request');
+      cy.wait('@participationSession2Request');
       cy.contains('button', 'Do not participate').click();
       cy.wait('@unparticipateSession2Request');
 
@@ -72,7 +72,7 @@ describe('Sessions spec', () => {
           description: 'Start your day with energy',
           date: '2024-12-01T08:00:00',
           teacher_id: 1,
-          users: [1, 2],
+          participantCount: 2,
           createdAt: '2024-11-01T00:00:00',
           updatedAt: '2024-11-01T00:00:00'
         }
@@ -109,7 +109,7 @@ describe('Sessions spec', () => {
           description: 'Start your day with energy',
           date: '2024-12-01T08:00:00',
           teacher_id: 1,
-          users: [1, 2],
+          participantCount: 2,
           createdAt: '2024-11-01T00:00:00',
           updatedAt: '2024-11-01T00:00:00'
         }
@@ -240,7 +240,7 @@ describe('Sessions spec', () => {
           description: 'Start your day with energy',
           date: '2024-12-01T08:00:00',
           teacher_id: 1,
-          users: [1, 2],
+          participantCount: 2,
           createdAt: '2024-11-01T00:00:00',
           updatedAt: '2024-11-01T00:00:00'
         }
@@ -274,7 +274,7 @@ describe('Sessions spec', () => {
           description: 'Start your day with energy',
           date: '2024-12-01T08:00:00',
           teacher_id: 1,
-          users: [1, 2],
+          participantCount: 2,
           createdAt: '2024-11-01T00:00:00',
           updatedAt: '2024-11-01T00:00:00'
         }
@@ -363,7 +363,7 @@ describe('Sessions spec', () => {
           description: 'Start your day with energy',
           date: '2024-12-01T08:00:00',
           teacher_id: 1,
-          users: [],
+          participantCount: 0,
           createdAt: '2024-11-01T00:00:00',
           updatedAt: '2024-11-01T00:00:00'
         }
@@ -381,10 +381,15 @@ describe('Sessions spec', () => {
         statusCode: 200
       }).as('participateRequest');
 
+      cy.intercept('GET', '/api/session/1/participate/2', {
+        body: false
+      }).as('participationRequest');
+
       // Navigation vers le détail et participation
       cy.get('.mat-card').first().contains('button', 'Detail').click();
       cy.wait('@sessionDetailRequest');
       cy.wait('@teacherRequest');
+      cy.wait('@participationRequest');
 
       cy.contains('button', 'Participate').click();
       cy.wait('@participateRequest');
@@ -399,7 +404,7 @@ describe('Sessions spec', () => {
           description: 'Start your day with energy',
           date: '2024-12-01T08:00:00',
           teacher_id: 1,
-          users: [2],
+          participantCount: 1,
           createdAt: '2024-11-01T00:00:00',
           updatedAt: '2024-11-01T00:00:00'
         }
@@ -417,10 +422,15 @@ describe('Sessions spec', () => {
         statusCode: 200
       }).as('unparticipateRequest');
 
+      cy.intercept('GET', '/api/session/1/participate/2', {
+        body: true
+      }).as('participationRequest');
+
       // Navigation vers le détail et désinscription
       cy.get('.mat-card').first().contains('button', 'Detail').click();
       cy.wait('@sessionDetailRequest');
       cy.wait('@teacherRequest');
+      cy.wait('@participationRequest');
 
       cy.contains('button', 'Do not participate').click();
       cy.wait('@unparticipateRequest');
@@ -46,7 +46,7 @@ const baseSession: Session = {
   description: 'Wake up gently with yoga.',
   date: new Date('2024-06-01T08:00:00Z'),
   teacher_id: 5,
-  users: [], // Aucun utilisateur inscrit initialement
+  participantCount: 0, // Aucun utilisateur inscrit initialement
   createdAt: new Date('2024-05-01T08:00:00Z'),
   updatedAt: new Date('2024-05-15T08:00:00Z')
 };
@@ -54,9 +54,12 @@ const baseSession: Session = {
 // Session mise à jour avec l'utilisateur inscrit
 const updatedSession: Session = {
   ...baseSession,
-  users: [3] // L'utilisateur (id: 3) s'inscrit
+  participantCount: 1 // L'utilisateur (id: 3) s'inscrit
 };
 
+// URL de vérification de la participation du membre connecté
+const participationUrl = `api/session/${baseSession.id}/participate/${sessionInformation.id}`;
+
 // Données de test pour le professeur
 const teacher: Teacher = {
   id: 5,
@@ -139,6 +142,9 @@ describe('DetailComponent integration', () => {
     expect(sessionRequest.request.method).toBe('GET');
     sessionRequest.flush(baseSession); // Retour des données de la session
 
+    // La participation est vérifiée à part : la session ne transporte pas la liste des participants
+    httpMock.expectOne({ method: 'GET', url: participationUrl }).flush(false);
+
     const teacherRequest = httpMock.expectOne(`api/teacher/${baseSession.teacher_id}`);
     expect(teacherRequest.request.method).toBe('GET');
     teacherRequest.flush(teacher); // Retour des données du professeur
@@ -152,6 +158,7 @@ describe('DetailComponent integration', () => {
     expect(component.teacher).toEqual(teacher);
     expect(nativeElement.querySelector('h1')?.textContent).toContain('Sunrise Flow');
     expect(nativeElement.querySelector('.description')?.textContent).toContain(baseSession.description);
+    expect(nativeElement.textContent).toContain('0 attendees');
   });
 
   /**
@@ -166,36 +173,38 @@ describe('DetailComponent integration', () => {
     createComponent();
     fixture.detectChanges();
 
-    // Chargement initial des données session et professeur
+    // Chargement initial des données session, participation et professeur
     httpMock.expectOne(`api/session/${baseSession.id}`).flush(baseSession);
+    httpMock.expectOne({ method: 'GET', url: participationUrl }).flush(false);
     httpMock.expectOne(`api/teacher/${baseSession.teacher_id}`).flush(teacher);
     fixture.detectChanges();
+    expect(component.isParticipate).toBe(false);
 
     // Act: Appel de participate qui déclenche l'endpoint REST et rafraîchit la session
     component.participate();
 
-    const participateRequest = httpMock.expectOne(`api/session/${baseSession.id}/participate/${sessionInformation.id}`);
-    expect(participateRequest.request.method).toBe('POST');
+    const participateRequest = httpMock.expectOne({ method: 'POST', url: participationUrl });
     participateRequest.flush(null); // Confirmation de l'inscription
 
     // Rechargement des données après inscription
     httpMock.expectOne(`api/session/${baseSession.id}`).flush(updatedSession);
+    httpMock.expectOne({ method: 'GET', url: participationUrl }).flush(true);
     httpMock.expectOne(`api/teacher/${baseSession.teacher_id}`).flush(teacher);
     fixture.detectChanges();
 
     // Assert: L'état reflète maintenant une participation réussie
     expect(component.isParticipate).toBe(true);
-    expect(component.session?.users).toEqual(updatedSession.users);
+    expect(component.session?.participantCount).toBe(1);
 
     // Act: Appel de unParticipate et rafraîchissement des données à nouveau
     component.unParticipate();
 
-    const unParticipateRequest = httpMock.expectOne(`api/session/${baseSession.id}/participate/${sessionInformation.id}`);
-    expect(unParticipateRequest.request.method).toBe('DELETE');
+    const unParticipateRequest = httpMock.expectOne({ method: 'DELETE', url: participationUrl });
     unParticipateRequest.flush(null); // Confirmation de la désinscription
 
     // Rechargement des données après désinscription
     httpMock.expectOne(`api/session/${baseSession.id}`).flush(baseSession);
+    httpMock.expectOne({ method: 'GET', url: participationUrl }).flush(false);
     httpMock.expectOne(`api/teacher/${baseSession.teacher_id}`).flush(teacher);
     fixture.detectChanges();
 
@@ -215,8 +224,9 @@ describe('DetailComponent integration', () => {
     createComponent();
     fixture.detectChanges();
 
-    // Chargement initial des données session et professeur
+    // Chargement initial des données session et professeur (pas de vérification de participation pour un admin)
     httpMock.expectOne(`api/session/${baseSession.id}`).flush(baseSession);
+    httpMock.expectNone(participationUrl);
     httpMock.expectOne(`api/teacher/${baseSession.teacher_id}`).flush(teacher);
     fixture.detectChanges();
 
@@ -45,7 +45,7 @@ describe('DetailComponent', () => {
     description: 'Session de yoga dynamique pour tous niveaux',
     date: new Date('2024-12-01'),
     teacher_id: 1,
-    users: [1, 2, 3],
+    participantCount: 3,
     createdAt: new Date('2024-01-01'),
     updatedAt: new Date('2024-01-15')
   };
@@ -62,6 +62,7 @@ describe('DetailComponent', () => {
     // Mock SessionApiService
     mockSessionApiService = {
       detail: jest.fn().mockReturnValue(of(mockSession)),
+      isParticipating: jest.fn().mockReturnValue(of(true)),
       delete: jest.fn().mockReturnValue(of({})),
       participate: jest.fn().mockReturnValue(of(undefined)),
       unParticipate: jest.fn().mockReturnValue(of(undefined))
@@ -176,6 +177,14 @@ describe('DetailComponent', () => {
       expect(component.session).toEqual(mockSession);
     });
 
+    it('should display the participant count without the participant list', () => {
+      // Act
+      fixture.detectChanges();
+
+      // Assert
+      expect(fixture.nativeElement.textContent).toContain('3 attendees');
+    });
+
     it('should load teacher details after session is loaded', (done) => {
       // Act
       fixture.detectChanges();
@@ -189,22 +198,24 @@ describe('DetailComponent', () => {
     });
 
     it('should set isParticipate to true if user is in session', (done) => {
-      // Arrange - user id 1 is in users array [1, 2, 3]
-      mockSessionService.sessionInformation!.id = 1;
+      // Arrange - the server reports that user 1 participates
+      (mockSessionApiService.isParticipating as jest.Mock).mockReturnValue(of(true));
 
       // Act
       fixture.detectChanges();
 
       // Assert
       setTimeout(() => {
+        expect(mockSessionApiService.isParticipating).toHaveBeenCalledWith('1', '1');
         expect(component.isParticipate).toBe(true);
         done();
       }, 100);
     });
 
     it('should set isParticipate to false if user is not in session', (done) => {
-      // Arrange - user id 99 is NOT in users array [1, 2, 3]
+      // Arrange - the server reports that user 99 does not participate
       mockSessionService.sessionInformation!.id = 99;
+      (mockSessionApiService.isParticipating as jest.Mock).mockReturnValue(of(false));
 
       // Re-create component
       const newComponent = new DetailComponent(
@@ -222,10 +233,32 @@ describe('DetailComponent', () => {
 
       // Assert
       setTimeout(() => {
+        expect(mockSessionApiService.isParticipating).toHaveBeenCalledWith('1', '99');
         expect(newComponent.isParticipate).toBe(false);
         done();
       }, 100);
     });
+
+    it('should not check participation for admin users', () => {
+      // Arrange
+      mockSessionService.sessionInformation!.admin = true;
+      const adminComponent = new DetailComponent(
+        mockActivatedRoute as ActivatedRoute,
+        {} as FormBuilder,
+        mockSessionService as SessionService,
+        mockSessionApiService as SessionApiService,
+        mockTeacherService as TeacherService,
+        mockMatSnackBar as MatSnackBar,
+        mockRouter as Router
+      );
+
+      // Act
+      adminComponent.ngOnInit();
+
+      // Assert
+      expect(mockSessionApiService.detail).toHaveBeenCalledWith('1');
+      expect(mockSessionApiService.isParticipating).not.toHaveBeenCalled();
+    });
   });
 
   describe('back', () => {
@@ -372,10 +405,8 @@ describe('DetailComponent', () => {
 
   describe('fetchSession (private)', () => {
     it('should update isParticipate when user joins', (done) => {
-      // Arrange - Session avec l'utilisateur 1
-      const sessionWithUser: Session = { ...mockSession, users: [1, 2] };
-      (mockSessionApiService.detail as jest.Mock).mockReturnValue(of(sessionWithUser));
-      mockSessionService.sessionInformation!.id = 1;
+      // Arrange - L'utilisateur 1 participe
+      (mockSessionApiService.isParticipating as jest.Mock).mockReturnValue(of(true));
 
       // Act
       component.ngOnInit();
@@ -388,10 +419,8 @@ describe('DetailComponent', () => {
     });
 
     it('should update isParticipate when user leaves', (done) => {
-      // Arrange - Session sans l'utilisateur 1
-      const sessionWithoutUser: Session = { ...mockSession, users: [2, 3] };
-      (mockSessionApiService.detail as jest.Mock).mockReturnValue(of(sessionWithoutUser));
-      mockSessionService.sessionInformation!.id = 1;
+      // Arrange - L'utilisateur 1 ne participe pas
+      (mockSessionApiService.isParticipating as jest.Mock).mockReturnValue(of(false));
 
       // Act
       component.ngOnInit();
@@ -67,11 +67,16 @@ export class DetailComponent implements OnInit {
       .detail(this.sessionId)
       .subscribe((session: Session) => {
         this.session = session;
-        this.isParticipate = session.users.some(u => u === this.sessionService.sessionInformation!.id);
         this.teacherService
           .detail(session.teacher_id.toString())
           .subscribe((teacher: Teacher) => this.teacher = teacher);
       });
+
+    if (!this.isAdmin) {
+      this.sessionApiService
+        .isParticipating(this.sessionId, this.userId)
+        .subscribe((isParticipate: boolean) => this.isParticipate = isParticipate);
+    }
   }
 
 }
@@ -122,9 +122,9 @@ describe('ListComponent', () => {
         expect(sessions[1].name).toBe('Meditation');
         expect(sessions[2].name).toBe('Yoga Restorative');
         
-        expect(sessions[0].users.length).toBe(3);
-        expect(sessions[1].users.length).toBe(2);
-        expect(sessions[2].users.length).toBe(1);
+        expect(sessions[0].users!.length).toBe(3);
+        expect(sessions[1].users!.length).toBe(2);
+        expect(sessions[2].users!.length).toBe(1);
         done();
       });
     });
@@ -4,7 +4,8 @@ export interface Session {
   description: string;
   date: Date;
   teacher_id: number;
-  users: number[];
+  users?: number[];
+  participantCount?: number;
   createdAt?: Date;
   updatedAt?: Date;
 }
@@ -111,7 +111,7 @@ describe('SessionApiService Integration Tests', () => {
     const detailedSession: Session = {
       ...mockSession,
       description: 'Description détaillée avec informations complètes sur la session de yoga Vinyasa',
-      users: [1, 3, 7, 12, 15] // Liste étendue de participants
+      participantCount: 5 // Nombre de participants, sans leur liste
     };
 
     // Act: Récupérer les détails d'une session
@@ -121,7 +121,7 @@ describe('SessionApiService Integration Tests', () => {
         expect(session).toEqual(detailedSession);
         expect(session.id).toBe(1);
         expect(session.description).toContain('complètes');
-        expect(session.users.length).toBe(5);
+        expect(session.participantCount).toBe(5);
         expect(session.date).toBeInstanceOf(Date);
         done();
       },
@@ -208,7 +208,7 @@ describe('SessionApiService Integration Tests', () => {
         expect(session.id).toBe(1);
         expect(session.name).toContain('Avancé');
         expect(session.description).toContain('complexes');
-        expect(session.users.length).toBe(6); // 2 participants ajoutés
+        expect(session.users!.length).toBe(6); // 2 participants ajoutés
         expect(session.users).toContain(20);
         expect(session.users).toContain(25);
         done();
@@ -101,7 +101,7 @@ describe('SessionApiService', () => {
         description: 'Session pour les débutants en yoga',
         date: new Date('2023-12-01'),
         teacher_id: 1,
-        users: [1, 2, 3],
+        participantCount: 3,
         createdAt: new Date(),
         updatedAt: new Date()
       };
@@ -112,10 +112,11 @@ describe('SessionApiService', () => {
       service.detail(sessionId).subscribe(session => {
         expect(session).toEqual(mockSession);
         expect(session.id).toBe(1);
-        expect(session.users.length).toBe(3);
+        expect(session.participantCount).toBe(3);
+        expect(session.users).toBeUndefined();
       });
 
-      // Vérifier la requête HTTP
+      // Vérifier la requête HTTP : le détail ne demande pas la liste des participants
       const req = httpMock.expectOne(`api/session/${sessionId}`);
       expect(req.request.method).toBe('GET');
       req.flush(mockSession);
@@ -137,6 +138,20 @@ describe('SessionApiService', () => {
     });
   });
 
+  describe('isParticipating', () => {
+    it('should ask whether a user participates in a session', () => {
+      // Appel de la méthode isParticipating
+      service.isParticipating('1', '2').subscribe(isParticipating => {
+        expect(isParticipating).toBe(true);
+      });
+
+      // Vérifier la requête HTTP
+      const req = httpMock.expectOne('api/session/1/participate/2');
+      expect(req.request.method).toBe('GET');
+      req.flush(true);
+    });
+  });
+
   describe('create', () => {
     it('should create a new session', () => {
       // Données de test pour créer une session
@@ -21,6 +21,10 @@ export class SessionApiService {
     return this.httpClient.get<Session>(`${this.pathService}/${id}`);
   }
 
+  public isParticipating(id: string, userId: string): Observable<boolean> {
+    return this.httpClient.get<boolean>(`${this.pathService}/${id}/participate/${userId}`);
+  }
+
   public delete(id: string): Observable<any> {
     return this.httpClient.delete(`${this.pathService}/${id}`);
   }